@@ -3,6 +3,7 @@ package com.amaya.game.android;
 import android.os.Bundle;
 
 import com.amaya.game.Spacefish;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.backends.android.AndroidApplication;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
 
@@ -14,5 +15,8 @@ public class AndroidLauncher extends AndroidApplication {
     final AndroidApplicationConfiguration config = new AndroidApplicationConfiguration();
 
     initialize(new Spacefish(), config);
+
+    // MENU key toggles frame stats overlay on the level screen
+    Gdx.input.setCatchMenuKey(true);
   }
 }
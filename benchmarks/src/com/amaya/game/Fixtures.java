@@ -0,0 +1,71 @@
+package com.amaya.game;
+
+import com.amaya.game.entities.Fish;
+import com.amaya.game.entities.Level;
+import com.amaya.game.entities.environment.Drop;
+import com.amaya.game.entities.environment.DropStore;
+import com.amaya.game.entities.modifiers.CommandsFactory;
+import com.amaya.game.entities.modifiers.Modifier;
+
+import java.util.Random;
+
+import static com.amaya.game.Spacefish.Dimensions;
+
+/** Shared state builders of the benchmarks. All data is seeded, so runs are comparable between each other. */
+public final class Fixtures {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Seed of all benchmarks. */
+  public static final long SEED = 20140809L;
+  /** Simulation tick, 60 updates per game second. */
+  public static final float TICK = 1.0f / 60.0f;
+  /** Level time that benchmark never reaches. */
+  public static final float ENDLESS = 1e9f;
+  /** Health that benchmark never spends. */
+  public static final int IMMORTAL = Integer.MAX_VALUE / 2;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  /** hidden constructor. */
+  private Fixtures() {
+    throw new AssertionError();
+  }
+
+	/* [ STATIC METHODS ] ==================================================================================================================================== */
+
+  /** Level that never ends and never spawns own drops. Drops are populated by benchmark. */
+  public static Level endlessLevel() {
+    return new Level.Builder()
+            .setSeed(SEED)
+            .setTotalTime(ENDLESS)
+            .build();
+  }
+
+  /** Make fish survive any quantity of collisions. Call after the controller creation, controller resets the fish. */
+  public static Fish immortal(final Fish fish) {
+    fish.addModifier((Modifier) CommandsFactory.life(IMMORTAL));
+
+    return fish;
+  }
+
+  /** Spawn drops till storage reaches required size. Drops get random position on own trajectory. */
+  public static void fill(final DropStore drops, final int size, final Random random) {
+    final int xLimit = (int) (Dimensions.VIRTUAL_SCREEN_WIDTH - Dimensions.ICON_WIDTH - Dimensions.SPACE);
+
+    while (drops.size() < size) {
+      final float startX = Dimensions.SPACE + random.nextInt(xLimit);
+      final float startY = Dimensions.VIRTUAL_SCREEN_HEIGHT;
+      final float endX = random.nextInt(Dimensions.VIRTUAL_SCREEN_WIDTH);
+      final float speed = Drop.MIN_SPEED + random.nextFloat() * Drop.MAX_SPEED;
+      final float progress = random.nextFloat();
+
+      // spawned in past, so drop is already 'progress' way along own trajectory
+      final int i = drops.add(random.nextInt(DropStore.Types.COUNT), startX, startY, endX, 0, speed,
+              drops.getTime() - progress / speed);
+
+      if (!drops.isClosedForm()) {
+        drops.setPosition(i, startX + (endX - startX) * progress, startY - startY * progress);
+      }
+    }
+  }
+}
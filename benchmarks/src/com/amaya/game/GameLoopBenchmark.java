@@ -0,0 +1,91 @@
+package com.amaya.game;
+
+import com.amaya.game.entities.Fish;
+import com.amaya.game.entities.Level;
+import com.amaya.game.entities.environment.DropStore;
+import com.badlogic.gdx.math.RandomXS128;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game loop frame cost by quantity of live drops. Drops that leave the field or collide with the fish are re-spawned
+ * after each frame, so every operation processes the same quantity of drops.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameLoopBenchmark {
+	/* [ PARAMETERS ] ======================================================================================================================================== */
+
+  /** Quantity of live drops. */
+  @Param({"10", "100", "1000", "10000", "100000"})
+  public int drops;
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  private GameController mController;
+  private DropStore mDrops;
+  private Random mRandom;
+
+	/* [ SETUP / TEAR DOWN ] ================================================================================================================================= */
+
+  @Setup(org.openjdk.jmh.annotations.Level.Trial)
+  public void setUp() {
+    final Level level = Fixtures.endlessLevel();
+
+    mRandom = new RandomXS128(Fixtures.SEED);
+    mController = new GameController(new Fish(), level, IGameEvents.NONE);
+    Fixtures.immortal(mController.getFish());
+    mDrops = level.Drops;
+
+    Fixtures.fill(mDrops, drops, mRandom);
+  }
+
+	/* [ BENCHMARKS ] ======================================================================================================================================== */
+
+  /** Whole simulation frame: commands, level, drops movement and collisions. */
+  @Benchmark
+  public float update() {
+    mController.update(Fixtures.TICK);
+    Fixtures.fill(mDrops, drops, mRandom);
+
+    return mController.getGameTime();
+  }
+
+  /** Collision detection between the fish and all live drops. */
+  @Benchmark
+  public int processCollisions() {
+    mController.processCollisions();
+
+    // modifiers of the hits are not applied, return them to the pool so the queue does not grow between operations
+    mController.clearCommands();
+    Fixtures.fill(mDrops, drops, mRandom);
+
+    return mDrops.size();
+  }
+
+  /** Drops movement and cleanup of the drops that leave the field. */
+  @Benchmark
+  public int processLevelDrops() {
+    mController.processLevelDrops(mDrops, Fixtures.TICK);
+    Fixtures.fill(mDrops, drops, mRandom);
+
+    return mDrops.size();
+  }
+}
@@ -0,0 +1,69 @@
+package com.amaya.game;
+
+import com.amaya.game.entities.Level;
+import com.amaya.game.entities.LevelPack;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Author the designed levels pack shipped with the game. Levels go from short and steady to long with bursts of drops,
+ * each level has own fixed seed, so the pack is reproducible byte by byte.
+ * <p>
+ * Usage: ./gradlew :benchmarks:levelPack
+ * </p>
+ * <p>
+ * First argument - destination file of the pack.
+ * </p>
+ */
+public final class LevelPackWriter {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Quantity of designed levels. */
+  public static final int LEVELS = 10;
+  /** Duration of the first level in seconds. */
+  public static final float FIRST_LEVEL_TIME = 30;
+  /** Duration added by each next level, in seconds. */
+  public static final float LEVEL_TIME_STEP = 5;
+  /** Seed of the first level, next levels use the following numbers. */
+  public static final long FIRST_SEED = 1000;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  /** hidden constructor. */
+  private LevelPackWriter() {
+    throw new AssertionError();
+  }
+
+	/* [ STATIC METHODS ] ==================================================================================================================================== */
+
+  public static void main(final String[] args) {
+    if (args.length < 1) {
+      System.err.println("[level-pack] destination file is not specified.");
+      System.exit(1);
+    }
+
+    final FileHandle file = new FileHandle(args[0]);
+    final List<Level.Builder> levels = campaign();
+
+    LevelPack.write(levels, file);
+
+    System.out.println("[level-pack] " + levels.size() + " levels written to: " + file.file().getAbsolutePath());
+  }
+
+  /** Designed levels in order of playing: even levels are steady, odd ones come in bursts. */
+  public static List<Level.Builder> campaign() {
+    final List<Level.Builder> levels = new ArrayList<Level.Builder>(LEVELS);
+
+    for (int i = 0; i < LEVELS; i++) {
+      levels.add(new Level.Builder()
+              .setSeed(FIRST_SEED + i)
+              .setTotalTime(FIRST_LEVEL_TIME + LEVEL_TIME_STEP * i)
+              .setCurve(0 == i % 2 ? Level.Curves.STEADY : Level.Curves.BURST)
+              .randomize());
+    }
+
+    return levels;
+  }
+}
@@ -0,0 +1,86 @@
+package com.amaya.game;
+
+import com.amaya.game.entities.Level;
+import com.amaya.game.simulation.ReplayLog;
+import com.badlogic.gdx.files.FileHandle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole session cost on the recorded play. Each operation re-plays the session from the start, headless and as fast as
+ * CPU allows, so the changes are compared on identical workload.
+ * <p>
+ * Usage: ./gradlew :benchmarks:jmh -Pjmh="Replay -p replay=/path/to/level.replay"
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReplayBenchmark {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Synthetic session duration in seconds. */
+  private static final float SESSION_TIME = 60;
+  /** Synthetic session touch interval in seconds. */
+  private static final float TOUCH_INTERVAL = 0.5f;
+
+	/* [ PARAMETERS ] ======================================================================================================================================== */
+
+  /** Recorded replay file, empty - synthetic seeded session. */
+  @Param({""})
+  public String replay;
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  private ReplayLog mLog;
+
+	/* [ SETUP / TEAR DOWN ] ================================================================================================================================= */
+
+  @Setup(org.openjdk.jmh.annotations.Level.Trial)
+  public void setUp() {
+    mLog = replay.isEmpty() ? synthetic() : ReplayLog.load(new FileHandle(replay));
+  }
+
+	/* [ BENCHMARKS ] ======================================================================================================================================== */
+
+  /** Whole recorded session. */
+  @Benchmark
+  public int play() {
+    return mLog.play(Fixtures.ENDLESS).Points;
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  /** Session with touches over the whole field at fixed interval. */
+  private static ReplayLog synthetic() {
+    final int count = (int) (SESSION_TIME / TOUCH_INTERVAL);
+    final float[] times = new float[count];
+    final float[] x = new float[count];
+    final float[] y = new float[count];
+
+    for (int i = 0; i < count; i++) {
+      times[i] = i * TOUCH_INTERVAL;
+      x[i] = (i * 37) % Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH;
+      y[i] = (i * 13) % 200;
+    }
+
+    final Level.Builder level = new Level.Builder().setSeed(Fixtures.SEED).setTotalTime(SESSION_TIME).randomize();
+
+    return new ReplayLog(level, Fixtures.TICK, times, x, y);
+  }
+}
@@ -0,0 +1,155 @@
+package com.amaya.game;
+
+import com.amaya.game.entities.Fish;
+import com.amaya.game.entities.Level;
+import com.amaya.game.entities.environment.DropStore;
+
+import java.util.Locale;
+
+/**
+ * Engine scalability profile: frame time and memory by quantity of level drops, for each spawn curve. Each level is
+ * played headless from the start to the end with immortal fish, every simulation tick is measured separately.
+ * <p>
+ * Usage: ./gradlew :benchmarks:scalability -Pscale="1000,10000,100000 10000"
+ * </p>
+ * <p>
+ * First argument - comma separated drops quantities. Second, optional - guarded quantity: report exits with error if
+ * p95 frame time of any level with up to this quantity of drops exceeds the frame budget of 60 FPS.
+ * </p>
+ */
+public final class ScalabilityReport {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Default drops quantities. */
+  public static final String DEFAULT_DROPS = "1000,10000,100000";
+  /** Level duration in seconds. */
+  public static final float LEVEL_TIME = 60;
+  /** Frame budget in nanoseconds, 60 FPS. */
+  public static final long FRAME_BUDGET = 1000000000L / Spacefish.Simulation.TICK_RATE;
+  /** Drops of the warm-up level. JIT compiles the hot paths before the first measured level. */
+  private static final int WARM_UP_DROPS = 2000;
+  /** Display names of the spawn curves, indexed by {@link Level.Curves}. */
+  private static final String[] CURVES = {"steady", "burst"};
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  /** hidden constructor. */
+  private ScalabilityReport() {
+    throw new AssertionError();
+  }
+
+	/* [ STATIC METHODS ] ==================================================================================================================================== */
+
+  public static void main(final String[] args) {
+    final String[] counts = ((args.length > 0) ? args[0] : DEFAULT_DROPS).split(",");
+    final int guard = (args.length > 1) ? Integer.parseInt(args[1]) : 0;
+    boolean failed = false;
+
+    measure(WARM_UP_DROPS, Level.Curves.STEADY);
+
+    System.out.println("curve,drops,peakLive,p50Ms,p95Ms,p99Ms,maxMs,overBudget,ticks,bytesPerDrop");
+
+    for (int curve = 0; curve < CURVES.length; curve++) {
+      for (String count : counts) {
+        final int drops = Integer.parseInt(count.trim());
+        final Profile profile = measure(drops, curve);
+
+        System.out.println(CURVES[curve] + "," + drops + "," + profile);
+
+        if (drops <= guard && profile.P95 > FRAME_BUDGET) {
+          System.err.println("[scalability] p95 frame time of " + drops + " drops (" + CURVES[curve] + ") exceeds the frame budget.");
+          failed = true;
+        }
+      }
+    }
+
+    if (failed) {
+      System.exit(1);
+    }
+  }
+
+  /** Play the stress level and collect own profile. */
+  private static Profile measure(final int drops, final int curve) {
+    final long before = usedMemory();
+
+    final Level level = new Level.Builder()
+            .setSeed(Fixtures.SEED)
+            .setTotalTime(LEVEL_TIME)
+            .setCurve(curve)
+            .stress(drops)
+            .build();
+
+    final GameController controller = new GameController(new Fish(), level, IGameEvents.NONE);
+    Fixtures.immortal(controller.getFish());
+
+    // heap delta of small levels is close to the GC noise
+    final long memory = Math.max(0, usedMemory() - before);
+
+    final int ticks = (int) Math.ceil(LEVEL_TIME * Spacefish.Simulation.TICK_RATE) + 1;
+    final FrameStats stats = new FrameStats(ticks);
+    stats.setEnabled(true);
+
+    final DropStore store = level.Drops;
+    int peak = 0;
+    int over = 0;
+
+    while (GameController.KnownStates.PLAY == controller.getState()) {
+      final long started = System.nanoTime();
+      controller.update(Fixtures.TICK);
+      final long spent = System.nanoTime() - started;
+
+      stats.record(FrameStats.Phases.FRAME, spent);
+      peak = Math.max(peak, store.size());
+
+      if (spent > FRAME_BUDGET) {
+        over++;
+      }
+    }
+
+    return new Profile(stats, peak, over, memory / Math.max(1, drops));
+  }
+
+  /** Used heap after garbage collection, in bytes. */
+  private static long usedMemory() {
+    final Runtime runtime = Runtime.getRuntime();
+
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+	/* [ NESTED DECLARATIONS ] =============================================================================================================================== */
+
+  /** Measured profile of one level. */
+  private static final class Profile {
+    public final long P50;
+    public final long P95;
+    public final long P99;
+    public final long Max;
+    public final int Ticks;
+    public final int PeakLive;
+    public final int OverBudget;
+    public final long BytesPerDrop;
+
+    public Profile(final FrameStats stats, final int peakLive, final int overBudget, final long bytesPerDrop) {
+      P50 = stats.percentile(FrameStats.Phases.FRAME, 50);
+      P95 = stats.percentile(FrameStats.Phases.FRAME, 95);
+      P99 = stats.percentile(FrameStats.Phases.FRAME, 99);
+      Max = stats.percentile(FrameStats.Phases.FRAME, 100);
+      Ticks = stats.getCount(FrameStats.Phases.FRAME);
+      PeakLive = peakLive;
+      OverBudget = overBudget;
+      BytesPerDrop = bytesPerDrop;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(Locale.US, "%d,%.3f,%.3f,%.3f,%.3f,%d,%d,%d", PeakLive,
+              P50 / FrameStats.NANOS_PER_MILLI, P95 / FrameStats.NANOS_PER_MILLI,
+              P99 / FrameStats.NANOS_PER_MILLI, Max / FrameStats.NANOS_PER_MILLI,
+              OverBudget, Ticks, BytesPerDrop);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.amaya.game.entities;
+
+import com.amaya.game.Fixtures;
+import com.amaya.game.entities.modifiers.CommandsFactory;
+import com.amaya.game.entities.modifiers.Modifier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Cost of the fish modifiers by quantity of active (stacked) speed modifiers. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FishBenchmark {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Life time of the stacked modifiers, longer than any benchmark. */
+  private static final int FOREVER = Integer.MAX_VALUE / 2;
+  /** Life time of the churn modifiers in seconds. */
+  private static final int SHORT = 1;
+
+	/* [ PARAMETERS ] ======================================================================================================================================== */
+
+  /** Quantity of active speed modifiers. */
+  @Param({"0", "1", "16", "256", "4096"})
+  public int depth;
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  private Fish mFish;
+  private float mGameTime;
+
+	/* [ SETUP / TEAR DOWN ] ================================================================================================================================= */
+
+  @Setup(org.openjdk.jmh.annotations.Level.Trial)
+  public void setUp() {
+    mFish = Fixtures.immortal(new Fish());
+
+    for (int i = 0; i < depth; i++) {
+      mFish.addModifier((Modifier) CommandsFactory.speed(1.0f, FOREVER), 0);
+    }
+  }
+
+	/* [ BENCHMARKS ] ======================================================================================================================================== */
+
+  /** Speed read on each frame, nothing expires. */
+  @Benchmark
+  public float getSpeed() {
+    mGameTime += Fixtures.TICK;
+
+    return mFish.getSpeed(mGameTime);
+  }
+
+  /** Speed read with modifiers churn: one modifier applied and one expired per frame in steady state. */
+  @Benchmark
+  public float getSpeedWithChurn() {
+    mGameTime += Fixtures.TICK;
+    mFish.addModifier((Modifier) CommandsFactory.speed(1.0f, SHORT), mGameTime);
+
+    return mFish.getSpeed(mGameTime);
+  }
+
+  /** Health and points reads, used by HUD on each frame. */
+  @Benchmark
+  public int getHealthAndPoints() {
+    return mFish.getHealth() + mFish.getPoints();
+  }
+}
@@ -0,0 +1,85 @@
+package com.amaya.game.entities;
+
+import com.amaya.game.Fixtures;
+import com.amaya.game.entities.environment.Alien;
+import com.amaya.game.entities.environment.Asteroid;
+import com.amaya.game.entities.environment.DropStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Spawn cost of the level by total quantity of drops. Level restarts when its time is over. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelBenchmark {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Level duration in seconds. */
+  private static final float LEVEL_TIME = 60;
+
+	/* [ PARAMETERS ] ======================================================================================================================================== */
+
+  /** Total quantity of drops in level. */
+  @Param({"10", "100", "1000", "10000", "100000"})
+  public int drops;
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  private Level mLevel;
+  private float mGameTime;
+
+	/* [ SETUP / TEAR DOWN ] ================================================================================================================================= */
+
+  @Setup(org.openjdk.jmh.annotations.Level.Trial)
+  public void setUp() {
+    final int[] asteroids = new int[Asteroid.KnownAsteroids.values().length];
+    final int[] aliens = new int[Alien.KnownAliens.values().length];
+
+    // spread drops evenly between all known types
+    for (int i = 0; i < drops; i++) {
+      if (i % DropStore.Types.COUNT < asteroids.length) {
+        asteroids[i % DropStore.Types.COUNT]++;
+      } else {
+        aliens[i % DropStore.Types.COUNT - asteroids.length]++;
+      }
+    }
+
+    mLevel = new Level.Builder()
+            .setSeed(Fixtures.SEED)
+            .setTotalTime(LEVEL_TIME)
+            .setAsteroidsRaw(asteroids)
+            .setAliensRaw(aliens)
+            .build();
+  }
+
+	/* [ BENCHMARKS ] ======================================================================================================================================== */
+
+  /** One level frame. Includes amortized cost of the level restart. */
+  @Benchmark
+  public int update() {
+    mGameTime += Fixtures.TICK;
+    final int spawned = mLevel.update(mGameTime, Fixtures.TICK);
+
+    if (Level.KnownStates.DONE == mLevel.getState()) {
+      mLevel.reset();
+      mGameTime = 0;
+    }
+
+    return spawned;
+  }
+}
@@ -0,0 +1,112 @@
+package com.amaya.game.entities.behavior;
+
+import com.amaya.game.Fixtures;
+import com.amaya.game.entities.Fish;
+import com.amaya.game.entities.modifiers.CommandsFactory;
+import com.amaya.game.entities.modifiers.Mandate;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.amaya.game.Spacefish.Dimensions;
+
+/** Cost of one movement step of each strategy from {@link StrategiesFactory}. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StrategiesBenchmark {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Quantity of precomputed trajectories, power of two. */
+  private static final int TRAJECTORIES = 1024;
+
+	/* [ PARAMETERS ] ======================================================================================================================================== */
+
+  /** Name of the strategy field in {@link StrategiesFactory}. */
+  @Param({"WaterGravity", "MomentumMoveByVector", "LinearMoveByVector"})
+  public String strategy;
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  private IStrategy mStrategy;
+  private final Motion mMotion = new Motion();
+  private final float[] mStartX = new float[TRAJECTORIES];
+  private final float[] mStartY = new float[TRAJECTORIES];
+  private final float[] mEndX = new float[TRAJECTORIES];
+  private final float[] mEndY = new float[TRAJECTORIES];
+  private final float[] mSpeed = new float[TRAJECTORIES];
+  private int mIndex;
+  /** Entity and mandates of the legacy update contract. */
+  private final Fish mFish = new Fish();
+  private final List<Mandate> mMandates = new ArrayList<Mandate>();
+
+	/* [ SETUP / TEAR DOWN ] ================================================================================================================================= */
+
+  @Setup(org.openjdk.jmh.annotations.Level.Trial)
+  public void setUp() {
+    final Random random = new RandomXS128(Fixtures.SEED);
+
+    if ("WaterGravity".equals(strategy)) {
+      mStrategy = StrategiesFactory.WaterGravity;
+    } else if ("MomentumMoveByVector".equals(strategy)) {
+      mStrategy = StrategiesFactory.MomentumMoveByVector;
+    } else {
+      mStrategy = StrategiesFactory.LinearMoveByVector;
+    }
+
+    for (int i = 0; i < TRAJECTORIES; i++) {
+      mStartX[i] = random.nextFloat() * Dimensions.VIRTUAL_SCREEN_WIDTH;
+      mStartY[i] = random.nextFloat() * Dimensions.VIRTUAL_SCREEN_HEIGHT;
+      mEndX[i] = random.nextFloat() * Dimensions.VIRTUAL_SCREEN_WIDTH;
+      mEndY[i] = random.nextFloat() * Dimensions.VIRTUAL_SCREEN_HEIGHT;
+      mSpeed[i] = random.nextFloat();
+    }
+
+    mMandates.add(CommandsFactory.moveTo(new Vector2(mStartX[0], mStartY[0]), new Vector2(mEndX[0], mEndY[0])));
+  }
+
+	/* [ BENCHMARKS ] ======================================================================================================================================== */
+
+  /** Allocation free contract, {@link IMotionStrategy#move(Motion, float, float)}. */
+  @Benchmark
+  public float move() {
+    final int i = mIndex;
+    mIndex = (i + 1) & (TRAJECTORIES - 1);
+
+    final Motion motion = mMotion
+            .position(mStartX[i], mStartY[i])
+            .trajectory(mStartX[i], mStartY[i], mEndX[i], mEndY[i])
+            .speed(mSpeed[i]);
+
+    mStrategy.move(motion, 0, Fixtures.TICK);
+
+    return motion.X + motion.Y;
+  }
+
+  /** Legacy contract, {@link IStrategy#update(com.amaya.game.entities.StrategyObject, List, float, float)}. */
+  @Benchmark
+  public float update() {
+    mStrategy.update(mFish, mMandates, 0, Fixtures.TICK);
+
+    return mFish.Bounds.x + mFish.Bounds.y;
+  }
+}
@@ -0,0 +1,76 @@
+package com.amaya.game;
+
+import com.amaya.game.entities.modifiers.CommandsFactory;
+import com.amaya.game.entities.modifiers.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Side effects of the simulation running on the worker thread. Events are queued by the simulation and delivered to
+ * the target on the render thread by {@link #dispatch()}, so sounds and navigation stay on the GL thread.
+ */
+public class DeferredEvents implements IGameEvents {
+  /* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Receiver of the events. */
+  private final IGameEvents mTarget;
+  /** Names of the queued events. Events are pooled per thread, only names cross the threads. */
+  private final List<String> mQueued = new ArrayList<String>();
+  /** Names of the events in delivery. Swapped with the queue on dispatch. */
+  private final List<String> mDelivery = new ArrayList<String>();
+  /** Is game over queued. */
+  private boolean mGameOver;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  public DeferredEvents(final IGameEvents target) {
+    mTarget = (null == target) ? IGameEvents.NONE : target;
+  }
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /** Deliver queued events to the target. Call from the render thread. */
+  public void dispatch() {
+    final boolean gameOver;
+
+    synchronized (mQueued) {
+      mDelivery.addAll(mQueued);
+      mQueued.clear();
+
+      gameOver = mGameOver;
+      mGameOver = false;
+    }
+
+    for (int i = 0, len = mDelivery.size(); i < len; i++) {
+      final Event event = (Event) CommandsFactory.event(mDelivery.get(i));
+
+      mTarget.onEvent(event);
+      CommandsFactory.free(event);
+    }
+
+    mDelivery.clear();
+
+    if (gameOver) {
+      mTarget.onGameOver();
+    }
+  }
+
+	/* [ Interface IGameEvents ] ============================================================================================================================= */
+
+  /** {@inheritDoc} */
+  @Override
+  public void onEvent(final Event event) {
+    synchronized (mQueued) {
+      mQueued.add(event.Name);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void onGameOver() {
+    synchronized (mQueued) {
+      mGameOver = true;
+    }
+  }
+}
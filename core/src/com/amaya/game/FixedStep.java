@@ -0,0 +1,79 @@
+package com.amaya.game;
+
+/**
+ * Accumulator of the fixed simulation time step. Frame time is accumulated and consumed by whole ticks, the rest
+ * is reported as interpolation factor between the previous and the current simulation states.
+ * <p>
+ * Quantity of catch-up ticks per frame is limited. Frame time above the limit is dropped, so slow device gets slower
+ * game instead of the death spiral of ever longer frames.
+ * </p>
+ */
+public class FixedStep {
+  /* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Simulation step in seconds. */
+  private final float mTick;
+  /** Max quantity of ticks per one frame. */
+  private final int mMaxSteps;
+  /** Frame time not consumed by ticks yet, in seconds. */
+  private float mAccumulator;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  /**
+   * Create accumulator.
+   *
+   * @param rate quantity of ticks per game second, e.g. 30 or 60.
+   * @param maxSteps max quantity of catch-up ticks per frame.
+   */
+  public FixedStep(final int rate, final int maxSteps) {
+    mTick = 1.0f / Math.max(1, rate);
+    mMaxSteps = Math.max(1, maxSteps);
+  }
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /**
+   * Accumulate frame time.
+   *
+   * @param delta frame time in seconds.
+   * @return quantity of ticks to simulate in this frame, each one is {@link #getTick()} long.
+   */
+  public int advance(final float delta) {
+    mAccumulator += Math.max(0f, delta);
+
+    int steps = 0;
+    while (mAccumulator >= mTick && steps < mMaxSteps) {
+      mAccumulator -= mTick;
+      steps++;
+    }
+
+    // drop the time that does not fit into the limit
+    if (mAccumulator >= mTick) {
+      mAccumulator %= mTick;
+    }
+
+    return steps;
+  }
+
+  /** Drop accumulated time. */
+  public void reset() {
+    mAccumulator = 0;
+  }
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  /** Simulation step in seconds. */
+  public float getTick() {
+    return mTick;
+  }
+
+  public int getMaxSteps() {
+    return mMaxSteps;
+  }
+
+  /** Interpolation factor between the previous and the current simulation states, [0..1). */
+  public float getAlpha() {
+    return mAccumulator / mTick;
+  }
+}
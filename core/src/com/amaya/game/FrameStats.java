@@ -0,0 +1,222 @@
+package com.amaya.game;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.util.Arrays;
+
+/**
+ * Per-phase frame timing. Each phase keeps ring buffer of the last samples (nanoseconds), percentiles are calculated
+ * over the buffer on request. Recording is allocation free and costs two {@link System#nanoTime()} calls per phase.
+ * <p>
+ * Instance is not thread safe, use one instance per thread. Samples recorded by another thread are handed over by
+ * {@link #drain(FrameStats)} while that thread is idle.
+ * </p>
+ */
+public class FrameStats {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Default quantity of samples kept per phase, ~4 seconds on 60 FPS. */
+  public static final int DEFAULT_CAPACITY = 256;
+  /** Nanoseconds in one millisecond. */
+  public static final double NANOS_PER_MILLI = 1e6;
+  /** Display names of the phases, indexed by {@link Phases}. */
+  private static final String[] NAMES = {"commands", "level", "collisions", "render", "gl-setup", "frame"};
+
+  /** dummy instance for operations 'without NULL'. Always disabled, records nothing. */
+  public static final FrameStats NONE = new FrameStats(1) {
+    @Override
+    public void setEnabled(final boolean enabled) {
+      // shared instance, stays disabled
+    }
+  };
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Ring buffers of samples, one per phase. */
+  private final long[][] mSamples;
+  /** Next write position of each ring buffer. */
+  private final int[] mCursor = new int[Phases.COUNT];
+  /** Quantity of valid samples in each ring buffer. */
+  private final int[] mCount = new int[Phases.COUNT];
+  /** Start time of each running phase. */
+  private final long[] mStarted = new long[Phases.COUNT];
+  /** Sorting scratch buffer, reused for percentiles calculation. */
+  private final long[] mSorted;
+  /** Is recording enabled. */
+  private boolean mEnabled;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  public FrameStats() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /** Create stats with specified quantity of samples kept per phase. */
+  public FrameStats(final int capacity) {
+    final int size = Math.max(1, capacity);
+
+    mSamples = new long[Phases.COUNT][size];
+    mSorted = new long[size];
+  }
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /** Start measuring of the phase, one of the {@link Phases}. */
+  public void begin(final int phase) {
+    if (mEnabled) {
+      mStarted[phase] = System.nanoTime();
+    }
+  }
+
+  /** Finish measuring of the phase, one of the {@link Phases}. */
+  public void end(final int phase) {
+    if (mEnabled) {
+      record(phase, System.nanoTime() - mStarted[phase]);
+    }
+  }
+
+  /** Add sample of the phase duration in nanoseconds. */
+  public void record(final int phase, final long nanos) {
+    final long[] samples = mSamples[phase];
+    final int cursor = mCursor[phase];
+
+    samples[cursor] = nanos;
+    mCursor[phase] = (cursor + 1) % samples.length;
+    mCount[phase] = Math.min(mCount[phase] + 1, samples.length);
+  }
+
+  /**
+   * Move samples of another instance into this one, oldest first. Source is cleared. Call only while the thread that
+   * records into the source is idle, e.g. between the simulation batches.
+   */
+  public void drain(final FrameStats source) {
+    for (int phase = 0; phase < Phases.COUNT; phase++) {
+      for (int i = 0, len = source.mCount[phase]; i < len; i++) {
+        record(phase, source.sample(phase, i));
+      }
+    }
+
+    source.clear();
+  }
+
+  /** Drop all samples. */
+  public void clear() {
+    Arrays.fill(mCursor, 0);
+    Arrays.fill(mCount, 0);
+  }
+
+  /**
+   * Percentile of the phase duration over the ring buffer, nearest-rank method.
+   *
+   * @param phase one of the {@link Phases}.
+   * @param percentile value in range (0..100].
+   * @return duration in nanoseconds, zero if there are no samples.
+   */
+  public long percentile(final int phase, final float percentile) {
+    final int count = mCount[phase];
+
+    if (0 == count) {
+      return 0;
+    }
+
+    System.arraycopy(mSamples[phase], 0, mSorted, 0, count);
+    Arrays.sort(mSorted, 0, count);
+
+    final int rank = (int) Math.ceil(percentile / 100.0 * count);
+    return mSorted[Math.min(count, Math.max(1, rank)) - 1];
+  }
+
+  /** Summary of the phase in milliseconds: "name p50/p95/p99". */
+  public String summary(final int phase) {
+    return String.format("%-10s %6.2f %6.2f %6.2f", NAMES[phase],
+            percentile(phase, 50) / NANOS_PER_MILLI,
+            percentile(phase, 95) / NANOS_PER_MILLI,
+            percentile(phase, 99) / NANOS_PER_MILLI);
+  }
+
+  /**
+   * Dump percentiles and ring buffers content into CSV file. Samples of each phase are ordered from oldest to newest.
+   *
+   * @param file destination file, overwritten.
+   */
+  public void dump(final FileHandle file) {
+    final StringBuilder sb = new StringBuilder();
+
+    sb.append("# phase p50/p95/p99, ms\n");
+    for (int phase = 0; phase < Phases.COUNT; phase++) {
+      sb.append("# ").append(summary(phase)).append('\n');
+    }
+
+    sb.append("sample");
+    for (int phase = 0; phase < Phases.COUNT; phase++) {
+      sb.append(',').append(NAMES[phase]);
+    }
+    sb.append('\n');
+
+    for (int i = 0, len = mSorted.length; i < len; i++) {
+      sb.append(i);
+
+      for (int phase = 0; phase < Phases.COUNT; phase++) {
+        sb.append(',');
+
+        if (i < mCount[phase]) {
+          sb.append(sample(phase, i));
+        }
+      }
+
+      sb.append('\n');
+    }
+
+    file.writeString(sb.toString(), false);
+  }
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  public boolean isEnabled() {
+    return mEnabled;
+  }
+
+  public void setEnabled(final boolean enabled) {
+    mEnabled = enabled;
+  }
+
+  /** Quantity of recorded samples of the phase. */
+  public int getCount(final int phase) {
+    return mCount[phase];
+  }
+
+  /** Display name of the phase. */
+  public static String getName(final int phase) {
+    return NAMES[phase];
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  /** Sample by age, 0 - the oldest one. */
+  private long sample(final int phase, final int age) {
+    final long[] samples = mSamples[phase];
+    final int oldest = (mCount[phase] < samples.length) ? 0 : mCursor[phase];
+
+    return samples[(oldest + age) % samples.length];
+  }
+
+	/* [ NESTED DECLARATIONS ] =============================================================================================================================== */
+
+  /** Syntax hack. Measured phases of the frame. */
+  public interface Phases {
+    /** {@link GameController} commands processing. */
+    int COMMANDS = 0;
+    /** {@link GameController} level and drops update. */
+    int LEVEL = 1;
+    /** {@link GameController} collisions detection. */
+    int COLLISIONS = 2;
+    /** {@link GameRenderer} entities rendering. */
+    int RENDER = 3;
+    /** Screen clearing, viewport and camera setup. */
+    int GL_SETUP = 4;
+    /** Whole frame of the level screen. */
+    int FRAME = 5;
+    /** Quantity of phases. */
+    int COUNT = 6;
+  }
+}
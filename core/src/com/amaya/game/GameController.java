@@ -2,7 +2,10 @@ package com.amaya.game;
 
 import com.amaya.game.entities.Fish;
 import com.amaya.game.entities.Level;
+import com.amaya.game.entities.behavior.Motion;
 import com.amaya.game.entities.environment.Drop;
+import com.amaya.game.entities.environment.DropStore;
+import com.amaya.game.entities.environment.UniformGrid;
 import com.amaya.game.entities.modifiers.CommandsFactory;
 import com.amaya.game.entities.modifiers.Event;
 import com.amaya.game.entities.modifiers.Expirable;
@@ -11,9 +14,11 @@ import com.amaya.game.entities.modifiers.Modifier;
 import com.amaya.game.entities.modifiers.MoveTo;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,10 +35,28 @@ public class GameController {
 
   /** Reference on current level. */
   private final Level mCurrentLevel;
-  /** Reference on current game. */
+  /** Reference on current game. Can be NULL for headless simulation. */
   private final Spacefish mGame;
-  /** Stack of commands for execution. */
-  private final List<Mandate> mMandates = new ArrayList<Mandate>();
+  /** Reference on controlled entity. */
+  private final Fish mFish;
+  /** Sink of the simulation side effects: sounds, navigation. */
+  private final IGameEvents mEvents;
+  /** Active movement command, single slot. NULL if there is nothing to execute. */
+  private MoveTo mMoveTo;
+  /** Queues of commands for execution, indexed by {@link Mandate.Kinds}. */
+  private final List<Mandate>[] mQueues = newQueues();
+  /** Fish movement scratch state. Reused between frames. */
+  private final Motion mMotion = new Motion();
+  /** Drops that collide with the fish during the current frame. Reused between frames. */
+  private final IntArray mHits = new IntArray();
+  /** Time of impact of each hit, parallel to {@link #mHits}. Reused between frames. */
+  private final FloatArray mImpacts = new FloatArray();
+  /** Fish position at the beginning of the current tick, x-coordinate. */
+  private float mFromX;
+  /** Fish position at the beginning of the current tick, y-coordinate. */
+  private float mFromY;
+  /** Timing of the update phases. */
+  private FrameStats mStats;
   /** Accumulated game time. */
   private float mGameTime = 0;
   /** Current state of the game. */
@@ -42,10 +65,29 @@ public class GameController {
 	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
 
   public GameController(final Spacefish game, final Level level) {
+    this(game, game.getFish(), level, game);
+  }
+
+  /** Construct controller of the game fish with own side effects receiver, e.g. {@link DeferredEvents}. */
+  public GameController(final Spacefish game, final Level level, final IGameEvents events) {
+    this(game, game.getFish(), level, events);
+  }
+
+  /** Construct controller that is not bound to the game instance. Used for headless simulation. */
+  public GameController(final Fish fish, final Level level, final IGameEvents events) {
+    this(null, fish, level, events);
+  }
+
+  private GameController(final Spacefish game, final Fish fish, final Level level, final IGameEvents events) {
     mGame = game;
+    mFish = fish;
     mCurrentLevel = level;
+    mEvents = (null == events) ? IGameEvents.NONE : events;
+    mStats = (null == game) ? FrameStats.NONE : game.getStats();
 
-    getGame().getFish().reset();
+    getFish().reset();
+    mFromX = getFish().Bounds.x;
+    mFromY = getFish().Bounds.y;
   }
 
 	/* [ PUBLIC API ] ======================================================================================================================================== */
@@ -59,16 +101,23 @@ public class GameController {
     if (KnownStates.PLAY != mState)
       return false;
 
-    // drop old "move-to' command if exist one
-    final MoveTo mtc = Mandate.findFirst(getMandates(), MoveTo.class);
+    // new "move-to' command replaces the old one
+    push(CommandsFactory.moveTo(getFish().Bounds, point));
 
-    if (null != mtc) {
-      getMandates().remove(mtc);
-    }
+    return true;
+  }
 
-    getMandates().add(CommandsFactory.moveTo(getGame().getFish().Bounds, point));
+  /** Push command for execution. Controller takes ownership of the command and returns it to the pool once consumed. */
+  public void push(final Mandate cmd) {
+    if (Mandate.Kinds.MOVE_TO == cmd.Kind) {
+      if (null != mMoveTo) {
+        CommandsFactory.free(mMoveTo);
+      }
 
-    return true;
+      mMoveTo = (MoveTo) cmd;
+    } else {
+      mQueues[cmd.Kind].add(cmd);
+    }
   }
 
   public void update(final float delta) {
@@ -78,26 +127,118 @@ public class GameController {
 
     mGameTime = getGameTime() + delta;
 
+    final FrameStats stats = mStats;
+
+    // start of the fish path for the swept collisions
+    mFromX = getFish().Bounds.x;
+    mFromY = getFish().Bounds.y;
+
+    stats.begin(FrameStats.Phases.COMMANDS);
     processCommands(delta);
+    stats.end(FrameStats.Phases.COMMANDS);
+
+    stats.begin(FrameStats.Phases.LEVEL);
     processLevel(delta);
+    stats.end(FrameStats.Phases.LEVEL);
+
+    stats.begin(FrameStats.Phases.COLLISIONS);
     processCollisions();
+    stats.end(FrameStats.Phases.COLLISIONS);
+  }
+
+  /**
+   * Write runtime state into binary snapshot: game time, state, pending commands, fish and level. Written without
+   * reflection and allocations, fits into a few kilobytes for a typical level.
+   */
+  public void save(final ByteBuffer out) {
+    out.putFloat(mGameTime);
+    out.put((byte) mState.ordinal());
+    out.putFloat(mFromX).putFloat(mFromY);
+
+    out.put((byte) (null == mMoveTo ? 0 : 1));
+    if (null != mMoveTo) {
+      CommandsFactory.write(out, mMoveTo);
+    }
+
+    for (int kind = 0; kind < Mandate.Kinds.COUNT; kind++) {
+      final List<Mandate> queue = mQueues[kind];
+      out.putInt(queue.size());
+
+      for (int i = 0, len = queue.size(); i < len; i++) {
+        CommandsFactory.write(out, queue.get(i));
+      }
+    }
+
+    getFish().save(out);
+    getCurrentLevel().save(out);
+  }
+
+  /** Restore runtime state written by {@link #save(ByteBuffer)} into the live objects. */
+  public void restore(final ByteBuffer in) {
+    mGameTime = in.getFloat();
+    mState = KnownStates.values()[in.get()];
+    mFromX = in.getFloat();
+    mFromY = in.getFloat();
+
+    // pending commands are replaced by the restored ones
+    clearCommands();
+
+    if (0 != in.get()) {
+      mMoveTo = (MoveTo) CommandsFactory.read(in);
+    }
+
+    for (int kind = 0; kind < Mandate.Kinds.COUNT; kind++) {
+      final List<Mandate> queue = mQueues[kind];
+
+      for (int i = in.getInt(); i > 0; i--) {
+        queue.add(CommandsFactory.read(in));
+      }
+    }
+
+    getFish().restore(in);
+    getCurrentLevel().restore(in);
   }
 
 	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
 
-  /** Reference on current game. */
+  /** Reference on current game. Returns NULL if controller runs headless. */
   public Spacefish getGame() {
     return mGame;
   }
 
+  /** Reference on controlled entity. */
+  public Fish getFish() {
+    return mFish;
+  }
+
+  /** Sink of the simulation side effects. */
+  public IGameEvents getEvents() {
+    return mEvents;
+  }
+
   /** Reference on current level. */
   public Level getCurrentLevel() {
     return mCurrentLevel;
   }
 
-  /** Stack of commands for execution. */
-  public List<Mandate> getMandates() {
-    return mMandates;
+  /** Active movement command. NULL if fish is not moving. */
+  public MoveTo getMoveTo() {
+    return mMoveTo;
+  }
+
+  /** Queue of commands of specified kind, one of the {@link Mandate.Kinds}. Treat it as read-only. */
+  public List<Mandate> getQueue(final int kind) {
+    return mQueues[kind];
+  }
+
+  /** Fish position at the beginning of the last tick, x-coordinate. */
+  public float getFromX() {
+    return mFromX;
+  }
+
+  /** Fish position at the beginning of the last tick, y-coordinate. */
+  public float getFromY() {
+    return mFromY;
   }
 
   /** Accumulated game time. */
@@ -105,6 +246,15 @@ public class GameController {
     return mGameTime;
   }
 
+  /** Timing of the update phases. */
+  public FrameStats getStats() {
+    return mStats;
+  }
+
+  public void setStats(final FrameStats stats) {
+    mStats = (null == stats) ? FrameStats.NONE : stats;
+  }
+
   public KnownStates getState() {
     return mState;
   }
@@ -116,48 +266,63 @@ public class GameController {
   /* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
 
   private void processCommands(final float delta) {
-    final List<Mandate> toDelete = new ArrayList<Mandate>();
+    // movement has own single slot
+    if (null != mMoveTo && processMoveTo(mMoveTo, delta)) {
+      CommandsFactory.free(mMoveTo);
+      mMoveTo = null;
+    }
 
-    for (Mandate cmd : getMandates()) {
-      if (cmd instanceof MoveTo) {
-        if (processMoveTo((MoveTo) cmd, delta)) {
-          toDelete.add(cmd);
-        }
-      } else if (cmd instanceof Expirable) {
-        if (processExpiring((Expirable) cmd, delta)) {
-          toDelete.add(cmd);
-        }
-      } else if (cmd instanceof Event) {
-        if (processEvent((Event) cmd, delta)) {
-          toDelete.add(cmd);
-        }
-      } else if (cmd instanceof Modifier) {
-        if (processOther((Modifier) cmd, delta)) {
-          toDelete.add(cmd);
-        }
+    processQueue(Mandate.Kinds.EVENT, delta);
+    processQueue(Mandate.Kinds.EXPIRABLE, delta);
+    processQueue(Mandate.Kinds.MODIFIER, delta);
+  }
+
+  private void processQueue(final int kind, final float delta) {
+    final List<Mandate> queue = mQueues[kind];
+    int kept = 0;
+
+    // in-place compaction: not consumed commands are shifted to the head of the queue
+    for (int i = 0, len = queue.size(); i < len; i++) {
+      final Mandate cmd = queue.get(i);
+      final boolean consumed;
+
+      switch (kind) {
+        case Mandate.Kinds.EVENT:
+          if ((consumed = processEvent((Event) cmd, delta))) {
+            CommandsFactory.free(cmd);
+          }
+          break;
+
+        case Mandate.Kinds.EXPIRABLE:
+          consumed = processExpiring((Expirable) cmd, delta);
+          break;
+
+        default:
+          consumed = processOther((Modifier) cmd, delta);
+          break;
+      }
+
+      if (!consumed) {
+        queue.set(kept++, cmd);
       }
     }
 
-    // do cleanup after applying the commands
-    for (Mandate cmd : toDelete) {
-      getMandates().remove(cmd);
+    // cut the tail, removal of the last item does not shift the array
+    for (int i = queue.size() - 1; i >= kept; i--) {
+      queue.remove(i);
     }
   }
 
   private boolean processEvent(final Event event, final float delta) {
-    if (Events.ANNOYING_SOUND.equals(event.Name)) {
-      GameResources.getInstance().getHitSound().play();
-
-      return true;
-    }
+    getEvents().onEvent(event);
 
-    return false;
+    return true;
   }
 
   private boolean processExpiring(final Expirable cmd, final float delta) {
 
     if (Fish.Fields.SPEED.equals(cmd.Name)) {
-      getGame().getFish().addModifier(cmd);
+      getFish().addModifier(cmd, getGameTime());
       return true;
     }
 
@@ -166,21 +331,21 @@ public class GameController {
 
   private boolean processMoveTo(final MoveTo mtc, final float delta) {
     // game entity
-    final Fish fish = getGame().getFish();
+    final Fish fish = getFish();
 
-    // modifiers/commands
-    final List<Mandate> mandates = new ArrayList<Mandate>();
-    mandates.add(mtc);
+    // movement scratch state
+    final Motion motion = mMotion
+            .position(fish.Bounds.x, fish.Bounds.y)
+            .trajectory(mtc.StartX, mtc.StartY, mtc.EndX, mtc.EndY)
+            .speed(fish.getSpeed(getGameTime()));
 
     // apply movement algorithm
-    fish.getStrategy().update(fish, mandates, getGameTime(), delta);
+    fish.getStrategy().move(motion, getGameTime(), delta);
+    fish.setPosition(motion.X, motion.Y);
 
     // try to detect is our behavior processing finished or not
-    final Vector2 current = fish.getPosition();
-    final Vector2 last = mtc.getEnd();
-
-    if (Math.abs(current.x - last.x) <= Dimensions.ACCURACY) {
-      if (Math.abs(current.y - last.y) <= Dimensions.ACCURACY) {
+    if (Math.abs(fish.Bounds.x - mtc.EndX) <= Dimensions.ACCURACY) {
+      if (Math.abs(fish.Bounds.y - mtc.EndY) <= Dimensions.ACCURACY) {
 
         if (Spacefish.Debug.MOVE_COMMANDS)
           Gdx.app.log(TAG, "[move-to] processing finished.");
@@ -195,12 +360,12 @@ public class GameController {
   }
 
   private boolean processOther(final Modifier cmd, final float delta) {
-    final Fish fish = getGame().getFish().addModifier(cmd);
+    final Fish fish = getFish().addModifier(cmd, getGameTime());
 
     // end of the game
     if (fish.getHealth() <= 0) {
       setState(KnownStates.GAME_OVER);
-      getGame().navigateToGameOver();
+      getEvents().onGameOver();
     }
 
     return true;
@@ -213,53 +378,186 @@ public class GameController {
     getCurrentLevel().update(getGameTime(), delta);
     final Level.KnownStates newState = getCurrentLevel().getState();
 
-    processLevelDrops(getCurrentLevel().Aliens, delta);
-    processLevelDrops(getCurrentLevel().Asteroids, delta);
+    processLevelDrops(getCurrentLevel().Drops, delta);
 
     // level finished
     if (newState != oldState && Level.KnownStates.DONE == newState) {
       mState = KnownStates.GAME_OVER;
-      getGame().navigateToGameOver();
+      getEvents().onGameOver();
     }
   }
 
-  private void processLevelDrops(final List<? extends Drop> list, final float delta) {
+  /* package */ void processLevelDrops(final DropStore drops, final float delta) {
+    final float gameTime = getGameTime();
+
     // calculate new positions
-    for (Drop drop : list) {
-      drop.getStrategy().update(drop, null, getGameTime(), delta);
+    drops.update(gameTime, delta);
+
+    // do cleanup, backward iteration is safe for swap-remove
+    if (drops.isClosedForm()) {
+      // exit time is known up front, positions are not evaluated at all
+      for (int i = drops.size() - 1; i >= 0; i--) {
+        if (drops.getExitTime(i) < gameTime) {
+          drops.remove(i);
+        }
+      }
+    } else {
+      for (int i = drops.size() - 1; i >= 0; i--) {
+        if (drops.getY(i) < Dimensions.ACCURACY) {
+          drops.remove(i);
+        }
+      }
+    }
+  }
+
+  /** Drop pending commands without processing, commands go back to the pool. */
+  /* package */ void clearCommands() {
+    if (null != mMoveTo) {
+      CommandsFactory.free(mMoveTo);
+      mMoveTo = null;
     }
 
-    // do cleanup
-    for (int i = list.size() - 1; i >= 0; i--) {
-      final Drop drop = list.get(i);
+    for (int kind = 0; kind < Mandate.Kinds.COUNT; kind++) {
+      final List<Mandate> queue = mQueues[kind];
 
-      if (drop.getPosition().y < Dimensions.ACCURACY) {
-        list.remove(i);
+      for (int i = queue.size() - 1; i >= 0; i--) {
+        CommandsFactory.free(queue.remove(i));
       }
     }
   }
 
-  private void processCollisions() {
-    final Rectangle rcFish = getGame().getFish().Bounds;
-
-    processCollisions(rcFish, getCurrentLevel().Aliens);
-    processCollisions(rcFish, getCurrentLevel().Asteroids);
+  /* package */ void processCollisions() {
+    processCollisions(mFromX, mFromY, getFish().Bounds, getCurrentLevel().Drops);
   }
 
-  private void processCollisions(final Rectangle rc, final List<? extends Drop> list) {
-    for (int i = list.size() - 1; i >= 0; i--) {
-      final Drop drop = list.get(i);
+  /** Collisions of the not moving fish. */
+  /* package */ void processCollisions(final Rectangle rc, final DropStore drops) {
+    processCollisions(rc.x, rc.y, rc, drops);
+  }
 
-      if (drop.Bounds.overlaps(rc)) {
-        if (Spacefish.Debug.FISH_COLLISIONS) {
-          Gdx.app.log(TAG, "[collision] with: " + drop.Bounds + ", entity: " + drop.getClass().getSimpleName());
-          Gdx.app.log(TAG, "[collision] modifier: " + drop.getModifier());
+  /**
+   * Swept collisions: fish box moves linearly from the start point to the current bounds, each drop moves linearly
+   * from own previous position to the current one. Drop collides if it enters the box at any moment of the tick, so
+   * nothing tunnels through the fish on large deltas. Modifiers are applied in order of the time of impact.
+   *
+   * @param fromX fish position at the beginning of the tick, x-coordinate.
+   * @param fromY fish position at the beginning of the tick, y-coordinate.
+   * @param rc fish bounds at the end of the tick.
+   * @param drops live drops.
+   */
+  /* package */ void processCollisions(final float fromX, final float fromY, final Rectangle rc, final DropStore drops) {
+    final float width = rc.width, height = rc.height;
+    final float fishX = rc.x - fromX, fishY = rc.y - fromY;
+
+    // broadphase: visit only cells touched by the swept fish bounds, extended by the longest drop path of the tick
+    final UniformGrid grid = drops.getGrid();
+    final float margin = drops.getMaxTravel();
+    final int c0 = grid.column(Math.min(fromX, rc.x) - margin), c1 = grid.column(Math.max(fromX, rc.x) + width + margin);
+    final int r0 = grid.row(Math.min(fromY, rc.y) - margin), r1 = grid.row(Math.max(fromY, rc.y) + height + margin);
+    final IntArray hits = mHits;
+    final FloatArray impacts = mImpacts;
+
+    hits.clear();
+    impacts.clear();
+
+    for (int r = r0; r <= r1; r++) {
+      for (int c = c0; c <= c1; c++) {
+        for (int i = grid.first(grid.cell(c, r)); UniformGrid.NONE != i; i = grid.next(i)) {
+          final float prevX = drops.getPreviousX(i), prevY = drops.getPreviousY(i);
+
+          // drop path relative to the fish box placed at its start point
+          final float toi = timeOfImpact(prevX - fromX, prevY - fromY,
+                  drops.getX(i) - prevX - fishX, drops.getY(i) - prevY - fishY, width, height);
+
+          if (toi >= 0) {
+            insertByImpact(hits, impacts, i, toi);
+          }
         }
+      }
+    }
+
+    // narrow phase results in order of impact
+    for (int j = 0; j < hits.size; j++) {
+      final int i = hits.get(j);
+      final Drop drop = DropStore.prototype(drops.getType(i));
 
-        getMandates().add(drop.getModifier());
-        list.remove(i);
+      if (Spacefish.Debug.FISH_COLLISIONS) {
+        Gdx.app.log(TAG, "[collision] with: [" + drops.getX(i) + ", " + drops.getY(i) + "], impact: " + impacts.get(j) + ", entity: " + drop.getClass().getSimpleName());
+        Gdx.app.log(TAG, "[collision] modifier: " + drop.getModifier());
       }
+
+      // prototype modifier is shared, apply own pooled copy
+      push(CommandsFactory.copyOf(drop.getModifier()));
+    }
+
+    // remove from highest index, swap-remove keeps lower indexes valid
+    hits.sort();
+
+    for (int j = hits.size - 1; j >= 0; j--) {
+      drops.remove(hits.get(j));
+    }
+  }
+
+  /**
+   * Time of impact of the point moving along the segment with the open box [0..width] x [0..height] (slab method).
+   * Point that stays strictly inside the box collides at the moment 0.
+   *
+   * @param x segment start, x-coordinate.
+   * @param y segment start, y-coordinate.
+   * @param dx segment length along x-axis.
+   * @param dy segment length along y-axis.
+   * @return part of the segment passed before entering the box, in range [0..1]; or -1 if there is no collision.
+   */
+  /* package */ static float timeOfImpact(final float x, final float y, final float dx, final float dy, final float width, final float height) {
+    float enter = 0f, exit = 1f;
+
+    // x-axis slab
+    if (0 == dx) {
+      if (x <= 0 || x >= width) return -1;
+    } else {
+      final float t0 = -x / dx, t1 = (width - x) / dx;
+      enter = Math.max(enter, Math.min(t0, t1));
+      exit = Math.min(exit, Math.max(t0, t1));
+    }
+
+    // y-axis slab
+    if (0 == dy) {
+      if (y <= 0 || y >= height) return -1;
+    } else {
+      final float t0 = -y / dy, t1 = (height - y) / dy;
+      enter = Math.max(enter, Math.min(t0, t1));
+      exit = Math.min(exit, Math.max(t0, t1));
     }
+
+    return (enter < exit) ? enter : -1;
+  }
+
+  /** Insertion sort step, keeps hits ordered by time of impact. Quantity of hits per tick is tiny. */
+  private static void insertByImpact(final IntArray hits, final FloatArray impacts, final int index, final float toi) {
+    int j = hits.size;
+
+    hits.add(index);
+    impacts.add(toi);
+
+    for (; j > 0 && impacts.get(j - 1) > toi; j--) {
+      hits.set(j, hits.get(j - 1));
+      impacts.set(j, impacts.get(j - 1));
+    }
+
+    hits.set(j, index);
+    impacts.set(j, toi);
+  }
+
+  /** Create empty queue for each kind of commands. */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static List<Mandate>[] newQueues() {
+    final List<Mandate>[] queues = new List[Mandate.Kinds.COUNT];
+
+    for (int i = 0; i < queues.length; i++) {
+      queues[i] = new ArrayList<Mandate>();
+    }
+
+    return queues;
   }
 
 	/* [ NESTED DECLARATIONS ] =============================================================================================================================== */
@@ -1,27 +1,30 @@
 package com.amaya.game;
 
-import com.amaya.game.entities.environment.Alien;
-import com.amaya.game.entities.environment.Asteroid;
-import com.amaya.game.entities.modifiers.CommandsFactory;
-import com.amaya.game.entities.modifiers.Mandate;
-import com.amaya.game.entities.modifiers.MoveTo;
+import com.amaya.game.entities.environment.DropStore;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Rectangle;
 
 import static com.amaya.game.Spacefish.Dimensions.ICON_HEIGHT;
 import static com.amaya.game.Spacefish.Dimensions.ICON_WIDTH;
 import static com.amaya.game.Spacefish.Dimensions.VIRTUAL_SCREEN_HEIGHT;
 import static com.amaya.game.Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH;
 
-/** Class responsible for rendering of the Entities states. */
+/**
+ * Class responsible for rendering of the Entities states. Renderer draws {@link RenderSnapshot} of the entities, so
+ * the frame can be drawn while the simulation computes the next tick on another thread.
+ */
 public class GameRenderer {
   /* [ MEMBERS ] =========================================================================================================================================== */
 
   /** Reference on controller. */
   private final GameController mController;
+  /** Frame of the single threaded rendering, captured from the controller on each render. */
+  private final RenderSnapshot mFrame = new RenderSnapshot();
+  /** Layout of the paused state label, created on the first pause. */
+  private BitmapFontCache mPaused;
 
 	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
 
@@ -38,93 +41,107 @@ public class GameRenderer {
 
 	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
 
-  private void drawAliens(final SpriteBatch batch) {
-    for (Alien al : getController().getCurrentLevel().Aliens) {
-      final Rectangle rc = al.Bounds;
+  private void drawDrops(final SpriteBatch batch, final RenderSnapshot frame, final float alpha) {
+    for (int i = 0, len = frame.size(); i < len; i++) {
+      final int type = frame.getType(i);
+      final float x = lerp(frame.getPreviousX(i), frame.getX(i), alpha);
+      final float y = lerp(frame.getPreviousY(i), frame.getY(i), alpha);
 
-      batch.draw(GameResources.getInstance().getAlien(al), rc.x, rc.y,
-              ICON_WIDTH, ICON_HEIGHT);
+      batch.draw(GameResources.getInstance().getDrop(type), x, y, ICON_WIDTH, ICON_HEIGHT);
 
-      if (Spacefish.Debug.ALIEN_BEHAVIOR) {
-        final MoveTo mtc = (MoveTo) CommandsFactory.moveTo(al);
+      final boolean isAlien = DropStore.isAlien(type);
 
+      if ((isAlien && Spacefish.Debug.ALIEN_BEHAVIOR) || (!isAlien && Spacefish.Debug.ASTEROID_BEHAVIOR)) {
         ShapeRenderer sr = getController().getGame().getDebugShapes();
         sr.setProjectionMatrix(batch.getProjectionMatrix());
-        sr.setColor(Color.GREEN);
+        sr.setColor(isAlien ? Color.GREEN : Color.BLUE);
         sr.begin(ShapeRenderer.ShapeType.Line);
-        sr.line(mtc.StartX, mtc.StartY, mtc.EndX, mtc.EndY);
-        sr.circle(rc.x, rc.y, ICON_WIDTH / 4);
+        sr.line(frame.getTrajectory(i, 0), frame.getTrajectory(i, 1), frame.getTrajectory(i, 2), frame.getTrajectory(i, 3));
+        sr.circle(x, y, ICON_WIDTH / 4);
         sr.end();
       }
 
+      // drop has no own size, show the icon bounds
       if (Spacefish.Debug.UI_BOUNDS) {
-        batch.draw(GameResources.getInstance().getDebugBounds(), rc.x, rc.y, rc.width, rc.height);
+        batch.draw(GameResources.getInstance().getDebugBounds(), x, y, ICON_WIDTH, ICON_HEIGHT);
       }
     }
   }
 
-  private void drawAsteroids(final SpriteBatch batch) {
-    for (Asteroid as : getController().getCurrentLevel().Asteroids) {
-      final Rectangle rc = as.Bounds;
-      batch.draw(GameResources.getInstance().getAsteroid(as), rc.x, rc.y, ICON_WIDTH, ICON_HEIGHT);
+  private void drawFish(final SpriteBatch batch, final RenderSnapshot frame, final float alpha) {
+    final float x = lerp(frame.getFishFromX(), frame.getFishX(), alpha);
+    final float y = lerp(frame.getFishFromY(), frame.getFishY(), alpha);
 
-      if (Spacefish.Debug.ASTEROID_BEHAVIOR) {
-        final MoveTo mtc = (MoveTo) CommandsFactory.moveTo(as);
-
-        ShapeRenderer sr = getController().getGame().getDebugShapes();
-        sr.setProjectionMatrix(batch.getProjectionMatrix());
-        sr.setColor(Color.BLUE);
-        sr.begin(ShapeRenderer.ShapeType.Line);
-        sr.line(mtc.StartX, mtc.StartY, mtc.EndX, mtc.EndY);
-        sr.circle(rc.x, rc.y, ICON_WIDTH / 4);
-        sr.end();
-      }
-
-      if (Spacefish.Debug.UI_BOUNDS) {
-        batch.draw(GameResources.getInstance().getDebugBounds(), rc.x, rc.y, rc.width, rc.height);
-      }
-    }
-  }
-
-  private void drawFish(final SpriteBatch batch) {
-    final Rectangle rc = getController().getGame().getFish().Bounds;
-    batch.draw(GameResources.getInstance().getFish(), rc.x, rc.y, rc.width, rc.height);
+    batch.draw(GameResources.getInstance().getFish(), x, y, frame.getFishWidth(), frame.getFishHeight());
 
     // DEBUG logic
     if (Spacefish.Debug.FISH_BEHAVIOR) {
-      final MoveTo mtc = Mandate.findFirst(getController().getMandates(), MoveTo.class);
-
-      if (null != mtc) {
+      if (frame.isMoving()) {
         ShapeRenderer sr = getController().getGame().getDebugShapes();
         sr.setProjectionMatrix(batch.getProjectionMatrix());
         sr.setColor(Color.RED);
         sr.begin(ShapeRenderer.ShapeType.Line);
-        sr.line(mtc.StartX, mtc.StartY, mtc.EndX, mtc.EndY);
-        sr.circle(rc.x, rc.y, ICON_WIDTH / 4);
+        sr.line(frame.getMoveTo(0), frame.getMoveTo(1), frame.getMoveTo(2), frame.getMoveTo(3));
+        sr.circle(x, y, ICON_WIDTH / 4);
         sr.end();
       }
     }
 
     if (Spacefish.Debug.UI_BOUNDS) {
-      batch.draw(GameResources.getInstance().getDebugBounds(), rc.x, rc.y, rc.width, rc.height);
+      batch.draw(GameResources.getInstance().getDebugBounds(), x, y, frame.getFishWidth(), frame.getFishHeight());
     }
   }
 
-  private void drawState(final SpriteBatch batch) {
-    if (GameController.KnownStates.PAUSED == getController().getState()) {
+  private void drawState(final SpriteBatch batch, final RenderSnapshot frame) {
+    if (GameController.KnownStates.PAUSED == frame.getState()) {
       final BitmapFont font = GameResources.getInstance().getFont();
-      final BitmapFont.TextBounds bounds = font.getBounds(Texts.PAUSED);
 
-      font.draw(batch, Texts.PAUSED, (VIRTUAL_SCREEN_WIDTH - bounds.width) / 2,
-              (VIRTUAL_SCREEN_HEIGHT - bounds.height) / 2);
+      // label is constant, measure it only once per font
+      if (null == mPaused || font != mPaused.getFont()) {
+        mPaused = new BitmapFontCache(font);
+        mPaused.setColor(1.0f, 1.0f, 1.0f, 1.0f);
+
+        final BitmapFont.TextBounds bounds = mPaused.setText(Texts.PAUSED, 0, 0);
+        mPaused.setPosition((VIRTUAL_SCREEN_WIDTH - bounds.width) / 2, (VIRTUAL_SCREEN_HEIGHT - bounds.height) / 2);
+      }
+
+      mPaused.draw(batch);
     }
   }
 
+  /** Render the current simulation state. */
   public void render(final SpriteBatch batch) {
-    drawAsteroids(batch);
-    drawAliens(batch);
-    drawFish(batch);
-    drawState(batch);
+    render(batch, 1.0f);
+  }
+
+  /**
+   * Render the state between the previous and the current simulation ticks. Controller is read on the calling thread.
+   *
+   * @param alpha interpolation factor, 0 - previous tick state, 1 - current one.
+   */
+  public void render(final SpriteBatch batch, final float alpha) {
+    mFrame.capture(getController());
+    render(batch, mFrame, alpha);
+  }
+
+  /**
+   * Render the captured state between the previous and the captured simulation ticks.
+   *
+   * @param frame captured state, not modified during the call.
+   * @param alpha interpolation factor, 0 - previous tick state, 1 - captured one.
+   */
+  public void render(final SpriteBatch batch, final RenderSnapshot frame, final float alpha) {
+    // stopped simulation has no motion between ticks
+    final float a = (GameController.KnownStates.PLAY == frame.getState()) ? alpha : 1.0f;
+
+    drawDrops(batch, frame, a);
+    drawFish(batch, frame, a);
+    drawState(batch, frame);
+  }
+
+  /** Linear interpolation between two values. */
+  private static float lerp(final float from, final float to, final float alpha) {
+    return from + (to - from) * alpha;
   }
 
 	/* [ NESTED DECLARATIONS ] =============================================================================================================================== */
@@ -2,17 +2,43 @@ package com.amaya.game;
 
 import com.amaya.game.entities.environment.Alien;
 import com.amaya.game.entities.environment.Asteroid;
+import com.amaya.game.entities.environment.DropStore;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import java.util.Arrays;
 
 /** class responsible for loading game resources: fonts, textures, sounds and etc.
+ * <p>
+ *   Assets are loaded asynchronously by groups: screen asks for own group by {@link #update(int)} on each frame and
+ *   shows loading frame till the group is ready. Getters of not loaded group return NULL.
+ * </p>
+ * <p>
+ *   All sprites and the font glyphs are packed into one texture atlas at build time (see 'packTextures' task of the
+ *   android module), so whole game frame renders without texture switches. Only background stays separate texture.
+ * </p>
  * <p>
  *   Note: class is not final due to Mockito restrictions. Mockito cannot mock/spy final classes.
  * </p> */
 public /* final */ class GameResources {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Packed sprites description. */
+  public static final String ATLAS = "atlas/game.atlas";
+  /** Time budget of one loading step, in milliseconds. */
+  public static final int LOADING_BUDGET = 10;
+  /** Files of each assets group, indexed by {@link Groups}. */
+  private static final String[][] GROUPS = {
+          {Files.BACKGROUND, ATLAS},
+          {Files.MUSIC, Files.HIT_SOUND, Files.GAME_OVER_SOUND}
+  };
+
   /* [ STATIC MEMBERS ] ==================================================================================================================================== */
 
   private static GameResources INSTANCE = new GameResources();
@@ -21,6 +47,10 @@ public /* final */ class GameResources {
 
   /** true - already initialized, otherwise false. */
   private boolean mIsInitialized;
+  /** Asynchronous loader. Owns all loaded assets. */
+  private AssetManager mManager;
+  /** Loaded and resolved groups, indexed by {@link Groups}. */
+  private final boolean[] mBound = new boolean[Groups.COUNT];
 
   private BitmapFont mFont;
 
@@ -29,18 +59,23 @@ public /* final */ class GameResources {
   private Sound mGameOver;
 
   private Texture mBackground;
-  private Texture mPlay;
-  private Texture mPause;
-  private Texture mInfo;
-  private Texture mBack;
-  private Texture mAsteroidBeep;
-  private Texture mAsteroidDeath;
-  private Texture mAsteroidSpeed;
-  private Texture mAlienGreen;
-  private Texture mAlienYellow;
-  private Texture mAlienOrange;
-  private Texture mFish;
-  private Texture mDebugBounds;
+  /** Packed sprites. Owns the texture of all regions and the font. */
+  private TextureAtlas mAtlas;
+
+  private TextureRegion mPlay;
+  private TextureRegion mPause;
+  private TextureRegion mInfo;
+  private TextureRegion mBack;
+  private TextureRegion mAsteroidBeep;
+  private TextureRegion mAsteroidDeath;
+  private TextureRegion mAsteroidSpeed;
+  private TextureRegion mAlienGreen;
+  private TextureRegion mAlienYellow;
+  private TextureRegion mAlienOrange;
+  private TextureRegion mFish;
+  private TextureRegion mDebugBounds;
+  /** Drop regions indexed by {@link DropStore.Types}. */
+  private final TextureRegion[] mDrops = new TextureRegion[DropStore.Types.COUNT];
 
 	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
 
@@ -60,79 +95,169 @@ public /* final */ class GameResources {
 
 	/* [ METHODS ] =========================================================================================================================================== */
 
+  /** Queue all assets for asynchronous loading. Menu assets are queued first, level assets follow them. */
   public void load() {
     // protection from second time call
     if (mIsInitialized)
       return;
 
     mIsInitialized = true;
+    mManager = new AssetManager();
 
-    // background looping sound
-    mBackMusic = Gdx.audio.newMusic(Gdx.files.internal("sounds/background_sound.mp3"));
-    mBackMusic.setLooping(true);
-    mBackMusic.setVolume(0.5f);
+    // queue order is the loading order
+    for (String[] group : GROUPS) {
+      for (String file : group) {
+        mManager.load(file, typeOf(file));
+      }
+    }
+  }
 
-    // annoying sound
-    mHitSound = Gdx.audio.newSound(Gdx.files.internal("sounds/annoying_sound.mp3"));
-    mGameOver = Gdx.audio.newSound(Gdx.files.internal("sounds/game_over.mp3"));
+  /**
+   * Continue loading of queued assets, each call spends not more than {@link #LOADING_BUDGET} milliseconds.
+   * Call from render thread on each frame.
+   *
+   * @param group required group, one of the {@link Groups}.
+   * @return true - group and all groups before it are loaded, otherwise false.
+   */
+  public boolean update(final int group) {
+    if (!mIsInitialized)
+      return false;
+
+    // keep streaming the rest of assets in background
+    if (!mBound[Groups.COUNT - 1]) {
+      mManager.update(LOADING_BUDGET);
+    }
+
+    return isLoaded(group);
+  }
+
+  /** Is group and all groups before it loaded. Loaded assets are resolved on the first positive check. */
+  public boolean isLoaded(final int group) {
+    if (!mIsInitialized)
+      return false;
+
+    for (int g = 0; g <= group; g++) {
+      if (!mBound[g]) {
+        for (String file : GROUPS[g]) {
+          if (!mManager.isLoaded(file))
+            return false;
+        }
+
+        bind(g);
+        mBound[g] = true;
+      }
+    }
+
+    return true;
+  }
+
+  /** Load all queued assets synchronously. */
+  public void finishLoading() {
+    if (!mIsInitialized)
+      return;
+
+    mManager.finishLoading();
+    isLoaded(Groups.COUNT - 1);
+  }
+
+  /** Loading progress of all assets, [0..1]. */
+  public float getProgress() {
+    return mIsInitialized ? mManager.getProgress() : 0.0f;
+  }
+
+  public void dispose() {
+    if (!mIsInitialized)
+      return;
 
-    // arcade style font
-    mFont = new BitmapFont(Gdx.files.internal("fonts/font.fnt"), Gdx.files.internal("fonts/font.png"), false);
+    // font texture is owned by atlas, atlas is owned by asset manager
+    if (null != mFont)
+      mFont.dispose();
 
+    mManager.dispose();
+
+    Arrays.fill(mBound, false);
+    mIsInitialized = false;
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  /** Resolve loaded assets of the group into fields. */
+  private void bind(final int group) {
+    switch (group) {
+      case Groups.MENU:
+        bindMenu();
+        break;
+
+      default:
+        bindLevel();
+        break;
+    }
+  }
+
+  private void bindMenu() {
     // load background picture, portrait orientation
-    mBackground = new Texture(Gdx.files.internal("backgrounds/space.jpg"));
+    mBackground = mManager.get(Files.BACKGROUND, Texture.class);
+
+    // all sprites in one texture
+    mAtlas = mManager.get(ATLAS, TextureAtlas.class);
+
+    // arcade style font, glyphs are packed into atlas
+    mFont = new BitmapFont(Gdx.files.internal(Files.FONT), mAtlas.findRegion(Regions.FONT), false);
 
     // load controls
-    mPlay = new Texture(Gdx.files.internal("controls/play.png"));
-    mPause = new Texture(Gdx.files.internal("controls/pause.png"));
-    mInfo = new Texture(Gdx.files.internal("controls/info.png"));
-    mBack = new Texture(Gdx.files.internal("controls/back.png"));
+    mPlay = mAtlas.findRegion(Regions.PLAY);
+    mPause = mAtlas.findRegion(Regions.PAUSE);
+    mInfo = mAtlas.findRegion(Regions.INFO);
+    mBack = mAtlas.findRegion(Regions.BACK);
 
     // load asteroids
-    mAsteroidSpeed = new Texture(Gdx.files.internal("entities/asteroid_speed.png"));
-    mAsteroidBeep = new Texture(Gdx.files.internal("entities/asteroid_beep.png"));
-    mAsteroidDeath = new Texture(Gdx.files.internal("entities/asteroid_death.png"));
+    mAsteroidSpeed = mAtlas.findRegion(Regions.ASTEROID_SPEED);
+    mAsteroidBeep = mAtlas.findRegion(Regions.ASTEROID_BEEP);
+    mAsteroidDeath = mAtlas.findRegion(Regions.ASTEROID_DEATH);
 
     // load aliens
-    mAlienGreen = new Texture(Gdx.files.internal("entities/alien_five_green.png"));
-    mAlienYellow = new Texture(Gdx.files.internal("entities/alien_ten_yellow.png"));
-    mAlienOrange = new Texture(Gdx.files.internal("entities/alien_thirty_orange.png"));
+    mAlienGreen = mAtlas.findRegion(Regions.ALIEN_GREEN);
+    mAlienYellow = mAtlas.findRegion(Regions.ALIEN_YELLOW);
+    mAlienOrange = mAtlas.findRegion(Regions.ALIEN_ORANGE);
 
     // load fish
-    mFish = new Texture(Gdx.files.internal("entities/fish.png"));
+    mFish = mAtlas.findRegion(Regions.FISH);
 
     // debug bounds
-    mDebugBounds = new Texture(Gdx.files.internal("debug_bounds.png"));
+    mDebugBounds = mAtlas.findRegion(Regions.DEBUG_BOUNDS);
+
+    // fast lookup by drop type
+    mDrops[DropStore.Types.ASTEROID_SOUND] = mAsteroidBeep;
+    mDrops[DropStore.Types.ASTEROID_SPEED] = mAsteroidSpeed;
+    mDrops[DropStore.Types.ASTEROID_DEATH] = mAsteroidDeath;
+    mDrops[DropStore.Types.ALIEN_GREEN] = mAlienGreen;
+    mDrops[DropStore.Types.ALIEN_YELLOW] = mAlienYellow;
+    mDrops[DropStore.Types.ALIEN_ORANGE] = mAlienOrange;
   }
 
-  public void dispose() {
-    if (!mIsInitialized)
-      return;
-
-    mBackMusic.dispose();
-    mHitSound.dispose();
-    mGameOver.dispose();
-
-    mFont.dispose();
-    mBackground.dispose();
+  private void bindLevel() {
+    // background looping sound
+    mBackMusic = mManager.get(Files.MUSIC, Music.class);
+    mBackMusic.setLooping(true);
+    mBackMusic.setVolume(0.5f);
 
-    mPlay.dispose();
-    mInfo.dispose();
-    mPause.dispose();
-    mBack.dispose();
+    // annoying sound
+    mHitSound = mManager.get(Files.HIT_SOUND, Sound.class);
+    mGameOver = mManager.get(Files.GAME_OVER_SOUND, Sound.class);
+  }
 
-    mAsteroidDeath.dispose();
-    mAsteroidSpeed.dispose();
-    mAsteroidBeep.dispose();
+  /** Resolve asset type by file extension. */
+  private static Class<?> typeOf(final String file) {
+    if (file.endsWith(".atlas"))
+      return TextureAtlas.class;
 
-    mAlienYellow.dispose();
-    mAlienGreen.dispose();
-    mAlienOrange.dispose();
+    if (Files.MUSIC.equals(file))
+      return Music.class;
 
-    mFish.dispose();
-    mDebugBounds.dispose();
+    if (file.endsWith(".mp3"))
+      return Sound.class;
 
-    mIsInitialized = false;
+    return Texture.class;
   }
 
 	/* [ GET/SET METHODS ] =================================================================================================================================== */
@@ -157,23 +282,23 @@ public /* final */ class GameResources {
     return mFont;
   }
 
-  public Texture getPause() {
+  public TextureRegion getPause() {
     return mPause;
   }
 
-  public Texture getPlay() {
+  public TextureRegion getPlay() {
     return mPlay;
   }
 
-  public Texture getInfo() {
+  public TextureRegion getInfo() {
     return mInfo;
   }
 
-  public Texture getBack() {
+  public TextureRegion getBack() {
     return mBack;
   }
 
-  public Texture getAsteroid(final Asteroid as) {
+  public TextureRegion getAsteroid(final Asteroid as) {
 
     if (Asteroid.KnownAsteroids.DEATH == as.getTag()) {
       return mAsteroidDeath;
@@ -184,7 +309,7 @@ public /* final */ class GameResources {
     return mAsteroidBeep;
   }
 
-  public Texture getAlien(final Alien al) {
+  public TextureRegion getAlien(final Alien al) {
 
     if (Alien.KnownAliens.ORANGE == al.getTag()) {
       return mAlienOrange;
@@ -195,11 +320,54 @@ public /* final */ class GameResources {
     return mAlienGreen;
   }
 
-  public Texture getFish() {
+  /** Resolve sprite by drop type, one of the {@link DropStore.Types}. */
+  public TextureRegion getDrop(final int type) {
+    return mDrops[type];
+  }
+
+  public TextureRegion getFish() {
     return mFish;
   }
 
-  public Texture getDebugBounds() {
+  public TextureRegion getDebugBounds() {
     return mDebugBounds;
+  }
+
+	/* [ NESTED DECLARATIONS ] =============================================================================================================================== */
+
+  /** Syntax hack. Assets groups, loaded in order of declaration. Group is ready when all groups before it are ready. */
+  public interface Groups {
+    /** Menu, info screens: background, sprites and font. */
+    int MENU = 0;
+    /** Level, game over screens: music and sounds. */
+    int LEVEL = 1;
+    /** Quantity of groups. */
+    int COUNT = 2;
+  }
+
+  /** Syntax hack. Asset files. */
+  public interface Files {
+    String BACKGROUND = "backgrounds/space.jpg";
+    String FONT = "fonts/font.fnt";
+    String MUSIC = "sounds/background_sound.mp3";
+    String HIT_SOUND = "sounds/annoying_sound.mp3";
+    String GAME_OVER_SOUND = "sounds/game_over.mp3";
+  }
+
+  /** Syntax hack. Names of the regions in atlas, match sprites paths relative to 'android/sprites' folder. */
+  public interface Regions {
+    String PLAY = "controls/play";
+    String PAUSE = "controls/pause";
+    String INFO = "controls/info";
+    String BACK = "controls/back";
+    String ASTEROID_SPEED = "entities/asteroid_speed";
+    String ASTEROID_BEEP = "entities/asteroid_beep";
+    String ASTEROID_DEATH = "entities/asteroid_death";
+    String ALIEN_GREEN = "entities/alien_five_green";
+    String ALIEN_YELLOW = "entities/alien_ten_yellow";
+    String ALIEN_ORANGE = "entities/alien_thirty_orange";
+    String FISH = "entities/fish";
+    String DEBUG_BOUNDS = "debug_bounds";
+    String FONT = "fonts/font";
   }
 }
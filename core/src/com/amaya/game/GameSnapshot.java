@@ -0,0 +1,118 @@
+package com.amaya.game;
+
+import com.amaya.game.entities.Level;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary snapshot of the running level: game controller, fish and level runtime state. Each object writes and
+ * restores own fields, no reflection involved. Level configuration is kept in the header, so level can be re-created
+ * after the process death; while the process is alive snapshot is restored directly into the live objects.
+ * <p>
+ * Layout: magic, version, level configuration ({@link Level#writeConfig(ByteBuffer)}), {@link GameController#save(ByteBuffer)}.
+ * </p>
+ * <p>
+ * Instance reuses own buffer between captures, it is not thread safe.
+ * </p>
+ */
+public class GameSnapshot {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Snapshot signature: 'SFSN'. */
+  public static final int MAGIC = 0x5346534E;
+  /** Version of the snapshot layout. */
+  public static final int VERSION = 2;
+  /** Initial size of the buffer, enough for a typical level. */
+  public static final int DEFAULT_CAPACITY = 16 * 1024;
+  /** Snapshot file of the paused level, in application local storage. */
+  public static final String FILE = "level.snapshot";
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Reusable buffer of the snapshot. Grows on demand. */
+  private ByteBuffer mBuffer = ByteBuffer.allocate(DEFAULT_CAPACITY);
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /**
+   * Capture snapshot of the controller.
+   *
+   * @return buffer ready for reading, valid till the next capture.
+   */
+  public ByteBuffer capture(final GameController controller) {
+    while (true) {
+      try {
+        mBuffer.clear();
+        write(controller, mBuffer);
+        mBuffer.flip();
+
+        return mBuffer;
+      } catch (final BufferOverflowException ignored) {
+        mBuffer = ByteBuffer.allocate(mBuffer.capacity() * 2);
+      }
+    }
+  }
+
+  /** Capture snapshot of the controller and write it into the file. */
+  public void save(final GameController controller, final FileHandle file) {
+    final ByteBuffer buffer = capture(controller);
+
+    file.writeBytes(buffer.array(), 0, buffer.limit(), false);
+  }
+
+	/* [ STATIC METHODS ] ==================================================================================================================================== */
+
+  /** Read snapshot from the file. */
+  public static ByteBuffer load(final FileHandle file) {
+    return ByteBuffer.wrap(file.readBytes());
+  }
+
+  /**
+   * Level builder with configuration of the snapshot. Buffer position is not changed.
+   *
+   * @throws IllegalArgumentException buffer is not a snapshot of the supported version.
+   */
+  public static Level.Builder builder(final ByteBuffer snapshot) {
+    final ByteBuffer in = snapshot.duplicate();
+    checkHeader(in);
+
+    return new Level.Builder().readConfig(in);
+  }
+
+  /**
+   * Restore snapshot into the live controller. Controller level should have the same configuration.
+   *
+   * @throws IllegalArgumentException buffer is not a snapshot of the supported version, or snapshot of another level.
+   */
+  public static void restore(final GameController controller, final ByteBuffer snapshot) {
+    final ByteBuffer in = snapshot.duplicate();
+    checkHeader(in);
+
+    // snapshot of the same level only
+    controller.getCurrentLevel().checkConfig(in);
+
+    controller.restore(in);
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  private static void write(final GameController controller, final ByteBuffer out) {
+    out.putInt(MAGIC).putInt(VERSION);
+    controller.getCurrentLevel().writeConfig(out);
+
+    controller.save(out);
+  }
+
+  private static void checkHeader(final ByteBuffer in) {
+    if (in.remaining() < 8 || MAGIC != in.getInt()) {
+      throw new IllegalArgumentException("Not a game snapshot.");
+    }
+
+    final int version = in.getInt();
+    if (VERSION != version) {
+      throw new IllegalArgumentException("Unsupported snapshot version: " + version);
+    }
+  }
+}
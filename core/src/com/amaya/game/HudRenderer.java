@@ -0,0 +1,125 @@
+package com.amaya.game;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.StringBuilder;
+
+import static com.amaya.game.Spacefish.Dimensions.ICON_PADDING;
+import static com.amaya.game.Spacefish.Dimensions.VIRTUAL_SCREEN_HEIGHT;
+import static com.amaya.game.Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH;
+
+/**
+ * Heads-up display of the level: collected points and fish speed in the top right corner. Glyph layouts are kept in
+ * font caches and rebuilt only when the shown values change, numbers are formatted into reusable buffers. In steady
+ * state rendering of the HUD is a plain copy of the cached vertices.
+ */
+public class HudRenderer {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Maximum quantity of the speed fraction digits. */
+  public static final int SPEED_DIGITS = 3;
+  /** Multiplier of the speed fraction digits. */
+  private static final int SPEED_SCALE = 1000;
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Font of the cached layouts. Layouts are rebuilt when the font is reloaded. */
+  private BitmapFont mFont;
+  /** Layout of the points. */
+  private BitmapFontCache mPoints;
+  /** Layout of the speed. */
+  private BitmapFontCache mSpeed;
+  /** Text of the points. */
+  private final StringBuilder mPointsText = new StringBuilder(16);
+  /** Text of the speed. */
+  private final StringBuilder mSpeedText = new StringBuilder(16);
+  /** Shown points. */
+  private int mShownPoints;
+  /** Shown speed. */
+  private float mShownSpeed;
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /** Draw HUD of the frame. Call between batch begin and end. */
+  public void render(final SpriteBatch batch, final RenderSnapshot frame) {
+    final BitmapFont font = GameResources.getInstance().getFont();
+
+    boolean layout = false;
+
+    if (font != mFont) {
+      bind(font);
+      layout = true;
+    }
+
+    if (layout || frame.getPoints() != mShownPoints) {
+      mShownPoints = frame.getPoints();
+
+      mPointsText.setLength(0);
+      mPointsText.append(mShownPoints);
+      mPoints.setText(mPointsText, 0, 0);
+      layout = true;
+    }
+
+    if (layout || Float.compare(frame.getSpeed(), mShownSpeed) != 0) {
+      mShownSpeed = frame.getSpeed();
+
+      mSpeedText.setLength(0);
+      mSpeedText.append('x');
+      appendSpeed(mSpeedText, mShownSpeed);
+      mSpeed.setText(mSpeedText, 0, 0);
+      layout = true;
+    }
+
+    if (layout) {
+      layout();
+    }
+
+    batch.enableBlending();
+    mPoints.draw(batch);
+    mSpeed.draw(batch);
+  }
+
+	/* [ STATIC METHODS ] ==================================================================================================================================== */
+
+  /**
+   * Append non-negative speed with up to {@link #SPEED_DIGITS} fraction digits, trailing zeros are dropped: 1.0, 0.5,
+   * 0.125. No allocations.
+   */
+  public static StringBuilder appendSpeed(final StringBuilder out, final float speed) {
+    final long scaled = Math.round((double) speed * SPEED_SCALE);
+    int fraction = (int) (scaled % SPEED_SCALE);
+    int digits = SPEED_DIGITS;
+
+    while (digits > 1 && 0 == fraction % 10) {
+      fraction /= 10;
+      digits--;
+    }
+
+    return out.append((int) (scaled / SPEED_SCALE)).append('.').append(fraction, digits, '0');
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  /** Create layouts for the font. */
+  private void bind(final BitmapFont font) {
+    mFont = font;
+
+    mPoints = new BitmapFontCache(font);
+    mPoints.setColor(1.0f, 1.0f, 1.0f, 1.0f);
+
+    mSpeed = new BitmapFontCache(font);
+    mSpeed.setColor(1.0f, 1.0f, 1.0f, 1.0f);
+  }
+
+  /** Right-align points to the screen corner, speed goes to the left of points. */
+  private void layout() {
+    final BitmapFont.TextBounds points = mPoints.getBounds();
+
+    final float x = VIRTUAL_SCREEN_WIDTH - ICON_PADDING - points.width;
+    final float y = VIRTUAL_SCREEN_HEIGHT - points.height;
+    mPoints.setPosition(x, y);
+
+    mSpeed.setPosition(x - mSpeed.getBounds().width - ICON_PADDING, y);
+  }
+}
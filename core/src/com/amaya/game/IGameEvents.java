@@ -0,0 +1,29 @@
+package com.amaya.game;
+
+import com.amaya.game.entities.modifiers.Event;
+
+/** Side effects of the game simulation: sounds, navigation. Allows to run the game logic without screens, GL context and audio. */
+public interface IGameEvents {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** dummy instance for operations 'without NULL'. Ignores all side effects. */
+  IGameEvents NONE = new IGameEvents() {
+    @Override
+    public void onEvent(final Event event) {
+      // do nothing
+    }
+
+    @Override
+    public void onGameOver() {
+      // do nothing
+    }
+  };
+
+  /* [ API METHODS ] ======================================================================================================================================= */
+
+  /** Game event happens, e.g. fish collides with 'annoying sound' asteroid. */
+  void onEvent(final Event event);
+
+  /** Game is over: fish is dead or level is done. */
+  void onGameOver();
+}
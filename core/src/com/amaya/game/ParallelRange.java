@@ -0,0 +1,204 @@
+package com.amaya.game;
+
+/**
+ * Small pool that splits index range between the calling thread and persistent helper threads. Designed for the
+ * per-tick data parallel loops: no allocations per call, helpers sleep between the calls.
+ * <p>
+ * Range is split into equal contiguous chunks, one per worker. Calling thread processes the first chunk and waits for
+ * the others. Pool runs one range at a time, call it from one thread only.
+ * </p>
+ */
+public class ParallelRange {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Name prefix of the helper threads. */
+  public static final String THREAD_NAME = "parallel-range-";
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Quantity of workers, including the calling thread. */
+  private final int mWorkers;
+  /** Helper threads. */
+  private final Thread[] mHelpers;
+  /** Guards the range state below. */
+  private final Object mLock = new Object();
+  /** Running task. */
+  private ITask mTask;
+  /** Size of the running range. */
+  private int mSize;
+  /** Increments on each range, wakes up the helpers. */
+  private long mGeneration;
+  /** Quantity of helpers that did not finish own chunk yet. */
+  private int mPending;
+  /** First failure of the helpers in the running range. */
+  private Throwable mFailure;
+  /** true - pool is stopped. */
+  private boolean mStopped;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  /**
+   * Create pool.
+   *
+   * @param workers quantity of workers including the calling thread. One - everything runs on the calling thread.
+   */
+  public ParallelRange(final int workers) {
+    mWorkers = Math.max(1, workers);
+    mHelpers = new Thread[mWorkers - 1];
+
+    for (int i = 0; i < mHelpers.length; i++) {
+      final int worker = i + 1;
+
+      mHelpers[i] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          loop(worker);
+        }
+      }, THREAD_NAME + worker);
+
+      mHelpers[i].setDaemon(true);
+      mHelpers[i].start();
+    }
+  }
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /**
+   * Run task over the range [0..size) and wait for all chunks.
+   *
+   * @throws RuntimeException failure of any chunk, checked failures are wrapped.
+   */
+  public void run(final int size, final ITask task) {
+    if (1 == mWorkers) {
+      task.run(0, size, 0);
+      return;
+    }
+
+    synchronized (mLock) {
+      if (mStopped) {
+        throw new IllegalStateException("Parallel range is stopped.");
+      }
+
+      mTask = task;
+      mSize = size;
+      mPending = mHelpers.length;
+      mGeneration++;
+      mLock.notifyAll();
+    }
+
+    try {
+      task.run(0, start(1, size), 0);
+    } finally {
+      // helpers still use the task even if own chunk failed
+      await();
+    }
+  }
+
+  /** Stop helper threads. Pool cannot be used after the call. */
+  public void shutdown() {
+    synchronized (mLock) {
+      mStopped = true;
+      mLock.notifyAll();
+    }
+  }
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  /** Quantity of workers, including the calling thread. */
+  public int getWorkers() {
+    return mWorkers;
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  /** Start of the worker chunk. End of the chunk is a start of the next one. */
+  private int start(final int worker, final int size) {
+    return (int) ((long) size * worker / mWorkers);
+  }
+
+  /** Wait for the helpers chunks. Rethrow failure of any of them. */
+  private void await() {
+    boolean interrupted = false;
+    final Throwable failure;
+
+    synchronized (mLock) {
+      while (mPending > 0) {
+        try {
+          mLock.wait();
+        } catch (final InterruptedException ignored) {
+          interrupted = true;
+        }
+      }
+
+      mTask = null;
+      failure = mFailure;
+      mFailure = null;
+    }
+
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (null != failure) {
+      SimulationPipeline.rethrow(failure);
+    }
+  }
+
+  private void loop(final int worker) {
+    long seen = 0;
+
+    while (true) {
+      final ITask task;
+      final int size;
+
+      synchronized (mLock) {
+        while (seen == mGeneration && !mStopped) {
+          try {
+            mLock.wait();
+          } catch (final InterruptedException ignored) {
+            return;
+          }
+        }
+
+        if (mStopped) {
+          return;
+        }
+
+        seen = mGeneration;
+        task = mTask;
+        size = mSize;
+      }
+
+      Throwable failure = null;
+
+      try {
+        task.run(start(worker, size), start(worker + 1, size), worker);
+      } catch (final Throwable ex) {
+        // errors too, caller waits for every chunk
+        failure = ex;
+      } finally {
+        synchronized (mLock) {
+          if (null != failure && null == mFailure) {
+            mFailure = failure;
+          }
+
+          if (--mPending == 0) {
+            mLock.notifyAll();
+          }
+        }
+      }
+    }
+  }
+
+	/* [ NESTED DECLARATIONS ] =============================================================================================================================== */
+
+  /** Chunk of the parallel range. */
+  public interface ITask {
+    /**
+     * Process indices [from..to). Chunks of one range run concurrently.
+     *
+     * @param worker index of the worker, [0..workers). Use it for the per-worker scratch state.
+     */
+    void run(final int from, final int to, final int worker);
+  }
+}
@@ -0,0 +1,216 @@
+package com.amaya.game;
+
+import com.amaya.game.entities.Fish;
+import com.amaya.game.entities.environment.DropStore;
+import com.amaya.game.entities.modifiers.MoveTo;
+
+import java.util.Arrays;
+
+/**
+ * Copy of the entities state needed for one rendered frame: drops, fish and scores. Captured by the simulation after
+ * the tick and read by the renderer, so rendering never touches the live entities.
+ * <p>
+ * Snapshot is mutable only during {@link #capture(GameController)}; once published it is read-only till the next
+ * capture. Arrays grow on demand and are reused between captures.
+ * </p>
+ */
+public class RenderSnapshot {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Are drop trajectories captured. Needed only for the debug drawing. */
+  private static final boolean TRAJECTORIES = Spacefish.Debug.ALIEN_BEHAVIOR || Spacefish.Debug.ASTEROID_BEHAVIOR;
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Quantity of drops. */
+  private int mSize;
+  /** Drop types, one of the {@link DropStore.Types}. */
+  private int[] mTypes = new int[DropStore.DEFAULT_CAPACITY];
+  /** Drop positions at the previous tick. */
+  private float[] mPrevX = new float[DropStore.DEFAULT_CAPACITY];
+  private float[] mPrevY = new float[DropStore.DEFAULT_CAPACITY];
+  /** Drop positions at the captured tick. */
+  private float[] mX = new float[DropStore.DEFAULT_CAPACITY];
+  private float[] mY = new float[DropStore.DEFAULT_CAPACITY];
+  /** Drop trajectories, captured only with debug drawing: startX, startY, endX, endY per drop. */
+  private float[] mTrajectories = new float[0];
+
+  /** Fish position at the previous tick. */
+  private float mFishFromX, mFishFromY;
+  /** Fish bounds at the captured tick. */
+  private float mFishX, mFishY, mFishWidth, mFishHeight;
+  /** Is fish moving to the touch point. */
+  private boolean mMoving;
+  /** Fish path to the touch point: startX, startY, endX, endY. */
+  private final float[] mMoveTo = new float[4];
+
+  /** Game state. */
+  private GameController.KnownStates mState = GameController.KnownStates.PLAY;
+  /** Collected points. */
+  private int mPoints;
+  /** Fish base speed. */
+  private float mSpeed;
+  /** Game time of the captured tick. */
+  private float mGameTime;
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /** Copy state of the controller entities. Call from the thread that owns the controller. */
+  public void capture(final GameController controller) {
+    final DropStore drops = controller.getCurrentLevel().Drops;
+    final int size = drops.size();
+
+    ensureCapacity(size);
+
+    for (int i = 0; i < size; i++) {
+      mTypes[i] = drops.getType(i);
+      mPrevX[i] = drops.getPreviousX(i);
+      mPrevY[i] = drops.getPreviousY(i);
+      mX[i] = drops.getX(i);
+      mY[i] = drops.getY(i);
+    }
+
+    if (TRAJECTORIES) {
+      for (int i = 0, j = 0; i < size; i++) {
+        mTrajectories[j++] = drops.getStartX(i);
+        mTrajectories[j++] = drops.getStartY(i);
+        mTrajectories[j++] = drops.getEndX(i);
+        mTrajectories[j++] = drops.getEndY(i);
+      }
+    }
+
+    mSize = size;
+
+    final Fish fish = controller.getFish();
+    mFishFromX = controller.getFromX();
+    mFishFromY = controller.getFromY();
+    mFishX = fish.Bounds.x;
+    mFishY = fish.Bounds.y;
+    mFishWidth = fish.Bounds.width;
+    mFishHeight = fish.Bounds.height;
+
+    final MoveTo mtc = controller.getMoveTo();
+    mMoving = (null != mtc);
+
+    if (mMoving) {
+      mMoveTo[0] = mtc.StartX;
+      mMoveTo[1] = mtc.StartY;
+      mMoveTo[2] = mtc.EndX;
+      mMoveTo[3] = mtc.EndY;
+    }
+
+    mState = controller.getState();
+    mPoints = fish.getPoints();
+    mSpeed = fish.getSpeed();
+    mGameTime = controller.getGameTime();
+  }
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  /** Quantity of drops. */
+  public int size() {
+    return mSize;
+  }
+
+  public int getType(final int i) {
+    return mTypes[i];
+  }
+
+  public float getPreviousX(final int i) {
+    return mPrevX[i];
+  }
+
+  public float getPreviousY(final int i) {
+    return mPrevY[i];
+  }
+
+  public float getX(final int i) {
+    return mX[i];
+  }
+
+  public float getY(final int i) {
+    return mY[i];
+  }
+
+  /**
+   * Drop trajectory point, captured only with debug drawing.
+   *
+   * @param point 0 - startX, 1 - startY, 2 - endX, 3 - endY.
+   */
+  public float getTrajectory(final int i, final int point) {
+    return mTrajectories[i * 4 + point];
+  }
+
+  public float getFishFromX() {
+    return mFishFromX;
+  }
+
+  public float getFishFromY() {
+    return mFishFromY;
+  }
+
+  public float getFishX() {
+    return mFishX;
+  }
+
+  public float getFishY() {
+    return mFishY;
+  }
+
+  public float getFishWidth() {
+    return mFishWidth;
+  }
+
+  public float getFishHeight() {
+    return mFishHeight;
+  }
+
+  /** Is fish moving to the touch point. */
+  public boolean isMoving() {
+    return mMoving;
+  }
+
+  /**
+   * Fish path to the touch point.
+   *
+   * @param point 0 - startX, 1 - startY, 2 - endX, 3 - endY.
+   */
+  public float getMoveTo(final int point) {
+    return mMoveTo[point];
+  }
+
+  public GameController.KnownStates getState() {
+    return mState;
+  }
+
+  public int getPoints() {
+    return mPoints;
+  }
+
+  /** Fish base speed. */
+  public float getSpeed() {
+    return mSpeed;
+  }
+
+  public float getGameTime() {
+    return mGameTime;
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  private void ensureCapacity(final int size) {
+    if (size > mTypes.length) {
+      final int capacity = Math.max(size, mTypes.length * 2);
+
+      mTypes = Arrays.copyOf(mTypes, capacity);
+      mPrevX = Arrays.copyOf(mPrevX, capacity);
+      mPrevY = Arrays.copyOf(mPrevY, capacity);
+      mX = Arrays.copyOf(mX, capacity);
+      mY = Arrays.copyOf(mY, capacity);
+    }
+
+    if (TRAJECTORIES && size * 4 > mTrajectories.length) {
+      mTrajectories = Arrays.copyOf(mTrajectories, Math.max(size, mTypes.length) * 4);
+    }
+  }
+}
@@ -0,0 +1,301 @@
+package com.amaya.game;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Run game simulation on the worker thread, overlapped with rendering. Simulation publishes the state of each completed
+ * batch of ticks into double-buffered {@link RenderSnapshot}: renderer draws the last completed snapshot while the
+ * worker computes the next batch into the other one.
+ * <p>
+ * Render thread drives the pipeline by {@link #submit(int)} once per frame. Any direct access to the controller from
+ * the render thread (state changes, snapshots) should be preceded by {@link #sync()}. Calls that create or free
+ * commands (touches, ticks) go through {@link #execute(Runnable)}: command pools are confined to the worker thread.
+ * </p>
+ * <p>
+ * Controller side effects are raised on the worker thread, wrap them by {@link DeferredEvents}. Timing of the
+ * simulation phases is recorded into own instance of the worker and moved into {@link #setStats(FrameStats)} target
+ * between the batches.
+ * </p>
+ */
+public class SimulationPipeline {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Name of the worker thread. */
+  public static final String THREAD_NAME = "simulation";
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Simulated game. Owned by the worker while the batch is running. */
+  private final GameController mController;
+  /** Fixed simulation step in seconds. */
+  private final float mTick;
+  /** Guards the hand-off state below. */
+  private final Object mLock = new Object();
+  /** Snapshot read by the renderer. */
+  private RenderSnapshot mFront = new RenderSnapshot();
+  /** Snapshot written by the worker. */
+  private RenderSnapshot mBack = new RenderSnapshot();
+  /** Ticks of the running batch. */
+  private int mSteps;
+  /** Task of the running batch, runs instead of the ticks. */
+  private Runnable mTask;
+  /** true - worker owns the controller. */
+  private boolean mBusy;
+  /** true - back snapshot holds completed batch, not published yet. */
+  private boolean mCompleted;
+  /** true - worker should exit. */
+  private boolean mStopped;
+  /** Failure of the last batch. */
+  private Throwable mFailure;
+  /** Timing recorded by the worker. Owned by the worker while the batch is running. */
+  private final FrameStats mWorkerStats = new FrameStats();
+  /** Receiver of the worker timing, owned by the render thread. */
+  private FrameStats mStats = FrameStats.NONE;
+  /** Worker thread, NULL - pipeline is not started. */
+  private Thread mThread;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  public SimulationPipeline(final GameController controller, final float tick) {
+    mController = controller;
+    mTick = tick;
+  }
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /** Start the worker. Current state of the controller becomes the first rendered snapshot. */
+  public void start() {
+    if (null != mThread)
+      return;
+
+    mFront.capture(mController);
+
+    synchronized (mLock) {
+      mStopped = false;
+      mCompleted = false;
+    }
+
+    mThread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        loop();
+      }
+    }, THREAD_NAME);
+
+    mThread.setDaemon(true);
+    mThread.start();
+  }
+
+  /** Finish the running batch and stop the worker. Controller is owned by the calling thread after the call. */
+  public void stop() {
+    if (null == mThread)
+      return;
+
+    Throwable failure = null;
+
+    synchronized (mLock) {
+      try {
+        awaitIdle();
+      } catch (final Throwable ex) {
+        // worker exits anyway, failure is reported after join
+        failure = ex;
+      }
+
+      mStopped = true;
+      mLock.notifyAll();
+    }
+
+    try {
+      mThread.join();
+    } catch (final InterruptedException ignored) {
+      Thread.currentThread().interrupt();
+    }
+
+    mThread = null;
+    drainStats();
+
+    if (null != failure) {
+      rethrow(failure);
+    }
+  }
+
+  /**
+   * Publish the last completed batch and start the next one. Waits only if the previous batch is still running.
+   *
+   * @param steps quantity of ticks to simulate.
+   * @return snapshot for rendering, not modified till the next call.
+   */
+  public RenderSnapshot submit(final int steps) {
+    synchronized (mLock) {
+      awaitIdle();
+
+      // worker is idle, its timing can be handed over
+      drainStats();
+
+      if (mCompleted) {
+        final RenderSnapshot swap = mFront;
+        mFront = mBack;
+        mBack = swap;
+        mCompleted = false;
+      }
+
+      if (steps > 0 && null != mThread) {
+        mSteps = steps;
+        mBusy = true;
+        mLock.notifyAll();
+      }
+
+      return mFront;
+    }
+  }
+
+  /**
+   * Run the task on the worker and wait for it. Published snapshot is not changed. Task runs on the calling thread if
+   * the pipeline is not started.
+   *
+   * @throws RuntimeException failure of the task or of the previous batch, checked failures are wrapped.
+   */
+  public void execute(final Runnable task) {
+    if (null == mThread) {
+      task.run();
+      return;
+    }
+
+    synchronized (mLock) {
+      awaitIdle();
+
+      mTask = task;
+      mBusy = true;
+      mLock.notifyAll();
+
+      awaitIdle();
+    }
+  }
+
+  /** Wait for the running batch. Controller can be accessed by the calling thread till the next {@link #submit(int)}. */
+  public void sync() {
+    synchronized (mLock) {
+      awaitIdle();
+    }
+  }
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  /**
+   * Receiver of the simulation phases timing. Worker records into own instance, samples are moved into the receiver
+   * on each {@link #submit(int)} while the worker is idle. Call before {@link #start()}.
+   */
+  public void setStats(final FrameStats stats) {
+    mStats = (null == stats) ? FrameStats.NONE : stats;
+    mWorkerStats.setEnabled(mStats.isEnabled());
+    mController.setStats(mWorkerStats);
+  }
+
+  /** Is worker started. */
+  public boolean isRunning() {
+    return null != mThread;
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  /** Wait till the worker releases the controller. Call with the lock held. Rethrows failure of the batch. */
+  private void awaitIdle() {
+    boolean interrupted = false;
+
+    while (mBusy) {
+      try {
+        mLock.wait();
+      } catch (final InterruptedException ignored) {
+        interrupted = true;
+      }
+    }
+
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+
+    final Throwable failure = mFailure;
+    if (null != failure) {
+      mFailure = null;
+      rethrow(failure);
+    }
+  }
+
+  /** Move worker timing into the receiver. Call while the worker is idle. */
+  private void drainStats() {
+    if (mStats.isEnabled()) {
+      mStats.drain(mWorkerStats);
+    } else {
+      mWorkerStats.clear();
+    }
+
+    mWorkerStats.setEnabled(mStats.isEnabled());
+  }
+
+  /** Rethrow failure of the worker on the calling thread. */
+  /* package */ static void rethrow(final Throwable failure) {
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    }
+
+    if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+
+    throw new GdxRuntimeException(failure);
+  }
+
+  private void loop() {
+    while (true) {
+      final int steps;
+      final Runnable task;
+
+      synchronized (mLock) {
+        while (!mBusy && !mStopped) {
+          try {
+            mLock.wait();
+          } catch (final InterruptedException ignored) {
+            return;
+          }
+        }
+
+        if (mStopped) {
+          return;
+        }
+
+        steps = mSteps;
+        task = mTask;
+        mTask = null;
+      }
+
+      Throwable failure = null;
+
+      try {
+        if (null != task) {
+          task.run();
+        } else {
+          for (int i = 0; i < steps; i++) {
+            mController.update(mTick);
+          }
+
+          mBack.capture(mController);
+        }
+      } catch (final Throwable ex) {
+        // any failure, including errors, should reach the render thread
+        failure = ex;
+      } finally {
+        synchronized (mLock) {
+          mFailure = failure;
+
+          // task does not produce snapshot, completed batch is still waiting for publishing
+          if (null == task) {
+            mCompleted = (null == failure);
+          }
+
+          mBusy = false;
+          mLock.notifyAll();
+        }
+      }
+    }
+  }
+}
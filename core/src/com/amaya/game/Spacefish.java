@@ -2,6 +2,8 @@ package com.amaya.game;
 
 import com.amaya.game.entities.Fish;
 import com.amaya.game.entities.Level;
+import com.amaya.game.entities.LevelPack;
+import com.amaya.game.entities.modifiers.Event;
 import com.amaya.game.screens.BaseScreen;
 import com.amaya.game.screens.GameOverScreen;
 import com.amaya.game.screens.InfoScreen;
@@ -9,12 +11,14 @@ import com.amaya.game.screens.LevelScreen;
 import com.amaya.game.screens.MenuScreen;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Rectangle;
 
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 import java.util.Random;
 
@@ -23,7 +27,7 @@ import java.util.Random;
  *
  * @see <a href="https://github.com/libgdx/libgdx-demo-superjumper">Sample</a>
  */
-public class Spacefish extends Game {
+public class Spacefish extends Game implements IGameEvents {
   /* [ CONSTANTS ] ========================================================================================================================================= */
 
   /** Logs Tag. */
@@ -31,7 +35,10 @@ public class Spacefish extends Game {
 
 	/* [ STATIC MEMBERS ] ==================================================================================================================================== */
 
-  /** Random numbers generator. */
+  /**
+   * Shared random numbers generator. Used by UI and legacy entities only, game sessions use own generators
+   * (see {@link Level.Builder#setSeed(long)}).
+   */
   private final static Random sRandom = new Random(System.currentTimeMillis());
 
 	/* [ MEMBERS ] =========================================================================================================================================== */
@@ -44,6 +51,14 @@ public class Spacefish extends Game {
   private final Fish mFish = new Fish();
   /** UI navigation backstack. */
   private final LinkedList<BaseScreen> mUiStack = new LinkedList<BaseScreen>();
+  /** Frame timing of the game loop. */
+  private final FrameStats mStats = new FrameStats();
+  /** Designed levels, opened on the first level start. NULL - not opened yet. */
+  private LevelPack mPack;
+  /** Index of the next designed level. */
+  private int mNextLevel;
+  /** Parallel drops movement workers, created on the first request. */
+  private ParallelRange mWorkers;
 
 	/* [ STATIC METHODS ] ==================================================================================================================================== */
 
@@ -55,6 +70,11 @@ public class Spacefish extends Game {
     return sRandom.nextFloat() * max;
   }
 
+  /** Shared random numbers generator. */
+  public static Random getRandom() {
+    return sRandom;
+  }
+
 	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
 
   public SpriteBatch getBatch() {
@@ -69,20 +89,67 @@ public class Spacefish extends Game {
     return mFish;
   }
 
+  /** Frame timing of the game loop. Recording is enabled by {@link Debug#FRAME_STATS} or by overlay toggle. */
+  public FrameStats getStats() {
+    return mStats;
+  }
+
   protected InfoScreen getInfo() {
     return new InfoScreen(this);
   }
 
   protected LevelScreen getLevel() {
-    // use builder pattern for level configuration building.
-    final Level level = new Level.Builder()
-            .setTotalTime(45)
-            .randomize()
-            .build();
+    final LevelPack pack = getLevelPack();
+    final Level level;
+
+    if (pack.size() > 0) {
+      // designed levels one by one, only selected level is decoded
+      level = pack.level(mNextLevel++ % pack.size());
+    } else {
+      // use builder pattern for level configuration building.
+      level = new Level.Builder()
+              .setTotalTime(45)
+              .randomize()
+              .build();
+    }
 
     return new LevelScreen(this, level);
   }
 
+  /** Designed levels of the game. Empty pack if the game is shipped without it. */
+  protected LevelPack getLevelPack() {
+    if (null == mPack) {
+      final FileHandle file = Gdx.files.internal(LevelPack.FILE);
+
+      // APK assets cannot be mapped, pack is extracted into local storage once
+      mPack = file.exists() ? LevelPack.open(file, Gdx.files.local(LevelPack.FILE)) : LevelPack.EMPTY;
+    }
+
+    return mPack;
+  }
+
+  /**
+   * Workers of the parallel drops movement. One core is left for rendering, the simulation thread is one of the workers.
+   *
+   * @return workers, NULL on devices without spare cores.
+   */
+  public ParallelRange getWorkers() {
+    if (null == mWorkers) {
+      final int workers = Math.min(Runtime.getRuntime().availableProcessors() - 1, Simulation.MAX_DROP_WORKERS);
+
+      if (workers > 1) {
+        mWorkers = new ParallelRange(workers);
+      }
+    }
+
+    return mWorkers;
+  }
+
+  /** Is level simulation running on the worker thread. */
+  public static boolean isThreaded() {
+    return Simulation.THREADED && Runtime.getRuntime().availableProcessors() > 1;
+  }
+
   protected MenuScreen getMenu() {
     return new MenuScreen(this);
   }
@@ -99,6 +166,7 @@ public class Spacefish extends Game {
     mDebugShapes = LibGdxFactory.getInstance().newShapeRenderer();
 
     GameResources.getInstance().load();
+    mStats.setEnabled(Debug.FRAME_STATS);
 
     navigateToMenu();
   }
@@ -106,6 +174,27 @@ public class Spacefish extends Game {
   @Override
   public void dispose() {
     GameResources.getInstance().dispose();
+
+    if (null != mWorkers) {
+      mWorkers.shutdown();
+      mWorkers = null;
+    }
+  }
+
+	/* [ Interface IGameEvents ] ============================================================================================================================= */
+
+  /** {@inheritDoc} */
+  @Override
+  public void onEvent(final Event event) {
+    if (GameController.Events.ANNOYING_SOUND.equals(event.Name)) {
+      GameResources.getInstance().getHitSound().play();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void onGameOver() {
+    navigateToGameOver();
   }
 
 	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
@@ -152,6 +241,37 @@ public class Spacefish extends Game {
     setScreen(mUiStack.getLast());
   }
 
+  /**
+   * Resume the level saved on application pause, if the process was killed in background. Snapshot is consumed.
+   *
+   * @return true - saved level restored, otherwise false.
+   */
+  public boolean navigateToSavedLevel() {
+    final FileHandle file = Gdx.files.local(GameSnapshot.FILE);
+
+    if (!file.exists())
+      return false;
+
+    try {
+      final ByteBuffer snapshot = GameSnapshot.load(file);
+      final LevelScreen screen = new LevelScreen(this, GameSnapshot.builder(snapshot).build());
+      GameSnapshot.restore(screen.getController(), snapshot);
+
+      if (Debug.UI_NAVIGATION)
+        Gdx.app.log(LOG_TAG, "[navigate] to saved 'Game Level'");
+
+      mUiStack.add(screen);
+      setScreen(mUiStack.getLast());
+      return true;
+    } catch (final RuntimeException ex) {
+      // unknown version, truncated file, another build of the level
+      Gdx.app.error(LOG_TAG, "[snapshot] broken level snapshot ignored.", ex);
+      return false;
+    } finally {
+      file.delete();
+    }
+  }
+
   public void navigateToGameOver() {
     if (Debug.UI_NAVIGATION)
       Gdx.app.log(LOG_TAG, "[navigate] to 'Game Over'");
@@ -192,6 +312,18 @@ public class Spacefish extends Game {
     float ACCURACY = 0.55f;
   }
 
+  /** Game loop configuration. */
+  public interface Simulation {
+    /** Fixed simulation steps per game second. Rendering rate does not affect the game play. */
+    int TICK_RATE = 60;
+    /** Max quantity of catch-up steps per rendered frame. */
+    int MAX_CATCH_UP_STEPS = 5;
+    /** Run the level simulation on the worker thread, overlapped with rendering. Used on multi-core devices only. */
+    boolean THREADED = true;
+    /** Max quantity of threads that move drops in parallel, including the simulation thread. */
+    int MAX_DROP_WORKERS = 4;
+  }
+
   /** Debug switches, allow to disable or enable logs in specific module. */
   public interface Debug {
     /** dump strategy calculations. */
@@ -227,6 +359,12 @@ public class Spacefish extends Game {
     /** dump any fish collisions. */
     boolean FISH_COLLISIONS = false;
     /** dump all expired commands processing. */
-    boolean EXPIRED_COMMANDS = true;
+    boolean EXPIRED_COMMANDS = false;
+    /** collect frame timing from the start and show timing overlay on level screen. */
+    boolean FRAME_STATS = false;
+    /** record touches of each new level into replay log, see {@link com.amaya.game.simulation.ReplayLog}. */
+    boolean REPLAY_RECORD = false;
+    /** redraw static screens on each vsync, as on animated ones. */
+    boolean CONTINUOUS_RENDERING = false;
   }
 }
@@ -2,14 +2,15 @@ package com.amaya.game.entities;
 
 import com.amaya.game.Spacefish;
 import com.amaya.game.entities.behavior.StrategiesFactory;
+import com.amaya.game.entities.modifiers.CommandsFactory;
 import com.amaya.game.entities.modifiers.Expirable;
+import com.amaya.game.entities.modifiers.Mandate;
 import com.amaya.game.entities.modifiers.Modifier;
 import com.badlogic.gdx.Gdx;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.PriorityQueue;
 
 import static com.amaya.game.Spacefish.Dimensions.FISH_HEIGHT;
 import static com.amaya.game.Spacefish.Dimensions.FISH_WIDTH;
@@ -22,15 +23,26 @@ public class Fish extends StrategyObject {
 
   /** Logging tag. */
   public static final String TAG = Spacefish.LOG_TAG;
+  /** Initial capacity of active modifiers queue. */
+  private static final int INITIAL_CAPACITY = 8;
+  /** Order modifiers by expiring time. */
+  private static final Comparator<Expirable> BY_EXPIRE_TIME = new Comparator<Expirable>() {
+    @Override
+    public int compare(final Expirable lhs, final Expirable rhs) {
+      return Float.compare(lhs.getExpireTime(), rhs.getExpireTime());
+    }
+  };
 
-  /* [ MEMBERS ] =========================================================================================================================================== */
+	/* [ MEMBERS ] =========================================================================================================================================== */
 
-  /** Fish health. */
+  /** Fish health, running sum of all applied health modifiers. */
   private int mHealth = 1;
-  /** Collected points. */
+  /** Collected points, running sum of all applied points modifiers. */
   private int mPoints = 0;
-  /** Stack of modifiers for game object properties. */
-  private final Map<String, List<Modifier>> mModifiers = new HashMap<String, List<Modifier>>();
+  /** Product of all active speed modifiers. */
+  private float mSpeedFactor = 1.0f;
+  /** Active speed modifiers ordered by expiring time, the soonest is the head. */
+  private final PriorityQueue<Expirable> mExpiring = new PriorityQueue<Expirable>(INITIAL_CAPACITY, BY_EXPIRE_TIME);
 
 	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
 
@@ -44,76 +56,137 @@ public class Fish extends StrategyObject {
 	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
 
   public int getHealth() {
-    int health = this.mHealth;
-
-    if (mModifiers.containsKey(Fields.HEALTH)) {
-      for (Modifier cmd : mModifiers.get(Fields.HEALTH)) {
-        health += cmd.Value;
-      }
-    }
-
-    return health;
+    return mHealth;
   }
 
   public int getPoints() {
-    int points = mPoints;
-
-    if (mModifiers.containsKey(Fields.POINTS)) {
-      final List<Modifier> modifiers = mModifiers.get(Fields.POINTS);
-
-      for (int i = modifiers.size() - 1; i >= 0; i--) {
-        points += modifiers.get(i).Value;
-        modifiers.remove(i);
-      }
-    }
-
-    return points;
+    return mPoints;
   }
 
   @Override
   public float getSpeed(final float gameTime) {
-    float speed = super.getSpeed();
-    final List<Modifier> speedMandates = mModifiers.get(Fields.SPEED);
-
-    if (null != speedMandates) {
-      for (int i = speedMandates.size() - 1; i >= 0; i--) {
-        final Expirable ec = (Expirable) speedMandates.get(i);
-
-        if (ec.isExpired(gameTime)) {
-          if (Spacefish.Debug.EXPIRED_COMMANDS) {
-            Gdx.app.log(TAG, "[expired] is expired, apply: " + ec.getApplyTime() +
-                    ", expire: " + ec.getExpiredAt() + ", time: " + gameTime);
-          }
-
-          speedMandates.remove(i);
-        } else {
-          speed *= ec.Value;
-        }
-      }
-    }
+    expire(gameTime);
 
-    return speed;
+    return super.getSpeed(gameTime) * mSpeedFactor;
+  }
+
+  /** Quantity of active (not expired yet) modifiers. */
+  public int getActiveModifiers() {
+    return mExpiring.size();
   }
 
   /** Reset entity to initial state. */
   public void reset() {
     mPoints = 0;
     mHealth = 1;
-    mModifiers.clear();
+    mSpeedFactor = 1.0f;
     setSpeed(1.0f);
+
+    // return active modifiers to pool
+    while (!mExpiring.isEmpty()) {
+      CommandsFactory.free(mExpiring.poll());
+    }
+  }
+
+  /** Write runtime state into binary snapshot: position, counters and active modifiers. */
+  public void save(final ByteBuffer out) {
+    out.putFloat(Bounds.x).putFloat(Bounds.y);
+    out.putFloat(super.getSpeed(0.0f)).putFloat(mSpeedFactor);
+    out.putInt(mHealth).putInt(mPoints);
+    out.putInt(mExpiring.size());
+
+    for (Expirable ec : mExpiring) {
+      CommandsFactory.write(out, ec);
+    }
   }
 
+  /** Restore runtime state written by {@link #save(ByteBuffer)}. */
+  public void restore(final ByteBuffer in) {
+    reset();
+
+    setPosition(in.getFloat(), in.getFloat());
+    setSpeed(in.getFloat());
+    mSpeedFactor = in.getFloat();
+    mHealth = in.getInt();
+    mPoints = in.getInt();
+
+    for (int i = in.getInt(); i > 0; i--) {
+      mExpiring.add((Expirable) CommandsFactory.read(in));
+    }
+  }
+
+  /** Apply modifier at the beginning of the game. */
   public Fish addModifier(final Modifier cmd) {
-    // create array for modifiers
-    if (!mModifiers.containsKey(cmd.Name)) {
-      mModifiers.put(cmd.Name, new ArrayList<Modifier>());
+    return addModifier(cmd, 0.0f);
+  }
+
+  /**
+   * Apply modifier. Fish takes ownership of the modifier and returns it to the pool once it is consumed.
+   *
+   * @param cmd the modifier.
+   * @param gameTime game time of modifier applying, expirable modifiers count own life time from it.
+   * @return this instance.
+   */
+  public Fish addModifier(final Modifier cmd, final float gameTime) {
+    if (Fields.SPEED.equals(cmd.Name) && Mandate.Kinds.EXPIRABLE == cmd.Kind) {
+      final Expirable ec = (Expirable) cmd;
+      ec.apply(gameTime);
+
+      mSpeedFactor *= ec.Value;
+      mExpiring.add(ec);
+
+      // keep the modifier till expiring
+      return this;
+    }
+
+    if (Fields.HEALTH.equals(cmd.Name)) {
+      mHealth += cmd.Value;
+    } else if (Fields.POINTS.equals(cmd.Name)) {
+      mPoints += cmd.Value;
     }
 
-    mModifiers.get(cmd.Name).add(cmd);
+    // value is already accumulated
+    CommandsFactory.free(cmd);
 
     return this;
   }
 
+  /** Drop all modifiers expired at specified game time. Cost depends only on quantity of expired modifiers. */
+  private void expire(final float gameTime) {
+    Expirable ec;
+
+    while (null != (ec = mExpiring.peek()) && ec.isExpired(gameTime)) {
+      mExpiring.poll();
+
+      if (Spacefish.Debug.EXPIRED_COMMANDS) {
+        Gdx.app.log(TAG, "[expired] is expired, apply: " + ec.getApplyTime() +
+                ", expire: " + ec.getExpiredAt() + ", time: " + gameTime);
+      }
+
+      // roll back the modifier
+      if (mExpiring.isEmpty()) {
+        mSpeedFactor = 1.0f;
+      } else if (0.0f == ec.Value) {
+        mSpeedFactor = product(mExpiring);
+      } else {
+        mSpeedFactor /= ec.Value;
+      }
+
+      CommandsFactory.free(ec);
+    }
+  }
+
+  /** Multiply values of all modifiers. */
+  private static float product(final Iterable<Expirable> modifiers) {
+    float result = 1.0f;
+
+    for (Expirable ec : modifiers) {
+      result *= ec.Value;
+    }
+
+    return result;
+  }
+
 	/* [ NESTED DECLARATIONS ] =============================================================================================================================== */
 
   /**
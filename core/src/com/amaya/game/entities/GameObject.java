@@ -25,6 +25,7 @@ public class GameObject {
 
 	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
 
+  /** Get position as new Vector2 instance. Allocates, in hot paths read {@link #Bounds} fields directly. */
   public Vector2 getPosition() {
     return new Vector2(Bounds.x, Bounds.y);
   }
@@ -4,12 +4,23 @@ import com.amaya.game.Spacefish;
 import com.amaya.game.entities.environment.Alien;
 import com.amaya.game.entities.environment.Asteroid;
 import com.amaya.game.entities.environment.Drop;
+import com.amaya.game.entities.environment.DropStore;
 import com.badlogic.gdx.Gdx;
-
-import java.util.ArrayList;
-import java.util.List;
-
-/** Describe the Level behavior. */
+import com.badlogic.gdx.math.RandomXS128;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Describe the Level behavior.
+ * <p>
+ * Whole spawn schedule is compiled on level construction into the sorted timeline of primitive arrays: spawn time,
+ * drop type and trajectory. Update only advances the timeline cursor, so the frame costs O(1) per spawned drop and
+ * produces no garbage. Catch-up after the long frame is the same tight loop.
+ * </p>
+ */
 public class Level {
   /* [ CONSTANTS ] ========================================================================================================================================= */
 
@@ -19,28 +30,60 @@ public class Level {
   public static final int MINIMUM_LEVEL_POINTS = Alien.GREEN.getPoints() + Alien.ORANGE.getPoints() + Alien.YELLOW.getPoints();
   /** cheapest alien. */
   public static final int MINIMUM_ALIEN_POINTS = Alien.GREEN.getPoints();
+  /** Period of the {@link Curves#BURST} waves in seconds. */
+  public static final float BURST_PERIOD = 5.0f;
+  /** Part of the wave period during which all drops of the wave are spawned. */
+  public static final float BURST_SHARE = 0.1f;
+  /** Max delay of the exited drops removal: drop is removed by the first fixed step after own exit time. */
+  public static final float REMOVAL_LAG = 1.0f / Spacefish.Simulation.TICK_RATE;
+  /** Golden ratio increment, spreads sequential seeds over the whole 64-bit range. */
+  private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+
+	/* [ STATIC MEMBERS ] ==================================================================================================================================== */
+
+  /** Source of default seeds. Touched only on builder creation. */
+  private static final AtomicLong sSeeds = new AtomicLong(System.nanoTime());
 
 	/* [ MEMBERS ] =========================================================================================================================================== */
 
   /** Level total time. */
   private final float mTotalTime;
+  /** Level total time in seconds, as configured. */
+  private final float mDuration;
   /** Level total drops. */
   private final int mTotalDrops;
   /** Initial proportions of Asteroids. */
   private final int[] mAsteroids;
   /** Initial proportions of Aliens. */
   private final int[] mAliens;
+  /** Seed of the level random numbers generator. */
+  private final long mSeed;
+  /** Spawn curve, one of the {@link Curves}. */
+  private final int mCurve;
+
+	/* [ TIMELINE ] ========================================================================================================================================== */
+
+  /** Spawn time of each drop in seconds, ascending. */
+  private final float[] mSpawnTimes;
+  /** Type of each drop, one of the {@link DropStore.Types}. */
+  private final int[] mSpawnTypes;
+  /** Start X of each drop trajectory. */
+  private final float[] mSpawnX;
+  /** End X of each drop trajectory. */
+  private final float[] mSpawnEndX;
+  /** Speed of each drop. */
+  private final float[] mSpawnSpeeds;
 
 	/* [ RUNTIME ] =========================================================================================================================================== */
 
-  /** Visible asteroids. */
-  public final List<Asteroid> Asteroids = new ArrayList<Asteroid>();
-  /** Visible aliens. */
-  public final List<Alien> Aliens = new ArrayList<Alien>();
-  /** Quantity of totally done drops. */
-  private int mAlreadyDropped;
-  /** Quantity of available drops of each type. */
-  private final List<Integer> mAvailable = new ArrayList<Integer>();
+  /**
+   * Visible drops: asteroids and aliens. Pre-sized for the peak of the timeline with exited drops removed at most
+   * {@link #REMOVAL_LAG} late, so fixed step simulation never re-allocates it. Restored snapshot or longer ticks can
+   * grow it.
+   */
+  public final DropStore Drops;
+  /** Position of the next drop in timeline. */
+  private int mCursor;
   /** Level status - State machine. */
   private KnownStates mState = KnownStates.DONE;
 
@@ -52,8 +95,10 @@ public class Level {
    * @param time level total time in seconds.
    * @param asteroids amount of asteroids.
    * @param aliens amount of aliens.
+   * @param seed seed of the level random numbers generator.
+   * @param curve spawn curve, one of the {@link Curves}.
    */
-  private Level(final float time, final int[] asteroids, final int[] aliens) {
+  private Level(final float time, final int[] asteroids, final int[] aliens, final long seed, final int curve) {
     // sum 'entities'
     int total = 0;
     for (int i : asteroids) total += i;
@@ -61,30 +106,32 @@ public class Level {
 
     // convert second to millis
     mTotalTime = toMillis(time);
+    mDuration = time;
     mTotalDrops = total;
     mAsteroids = asteroids;
     mAliens = aliens;
+    mSeed = seed;
+    mCurve = curve;
+
+    mSpawnTimes = new float[total];
+    mSpawnTypes = new int[total];
+    mSpawnX = new float[total];
+    mSpawnEndX = new float[total];
+    mSpawnSpeeds = new float[total];
+    compile(time);
+
+    Drops = new DropStore(peakDrops());
 
     reset();
   }
 
 	/* [ API METHODS ] ======================================================================================================================================= */
 
-  /** Reset level runtime state to the initial one. */
+  /** Reset level runtime state to the initial one. Level replays the same drops after reset. */
   public void reset() {
     mState = KnownStates.RUNNING;
-    mAlreadyDropped = 0;
-    mAvailable.clear();
-    Asteroids.clear();
-    Aliens.clear();
-
-    for (int i : mAsteroids) {
-      mAvailable.add(i);
-    }
-
-    for (int j : mAliens) {
-      mAvailable.add(j);
-    }
+    mCursor = 0;
+    Drops.clear();
   }
 
   /**
@@ -92,14 +139,12 @@ public class Level {
    *
    * @param gameTime - total game time in seconds
    * @param delta - time between calls in seconds
-   * @return Newly created objects. All those objects are accessible over {@link #Asteroids} and {@link #Aliens} collections.
+   * @return Quantity of newly spawned drops. All drops are accessible over {@link #Drops} storage.
    */
-  public List<Drop> update(final float gameTime, final float delta) {
-    final List<Drop> results = new ArrayList<Drop>();
-
+  public int update(final float gameTime, final float delta) {
     // game pass own total time
     if (KnownStates.DONE == mState) {
-      return results;
+      return 0;
     }
 
     // update current State of the level
@@ -110,42 +155,75 @@ public class Level {
         Gdx.app.log(TAG, "Level State changed to: " + mState);
     }
 
-    // quantity of drops per millis
-    final double ratio = (double) mTotalDrops / mTotalTime;
-    final double amount = Math.min(mTotalDrops, ratio * toMillis(gameTime));
-    final int toDrop = (int) (amount - mAlreadyDropped);
+    // spawn all due drops, after the long frame this catches up the whole burst
+    final int from = mCursor;
+    int cursor = from;
+
+    for (final int len = mSpawnTimes.length; cursor < len && mSpawnTimes[cursor] <= gameTime; cursor++) {
+      Drops.add(mSpawnTypes[cursor], mSpawnX[cursor], Spacefish.Dimensions.VIRTUAL_SCREEN_HEIGHT, mSpawnEndX[cursor], 0, mSpawnSpeeds[cursor],
+              mSpawnTimes[cursor]);
+    }
+
+    mCursor = cursor;
+    final int spawned = cursor - from;
 
-    // generate required quantity of entities
-    for (int i = 0; i < toDrop; i++) {
-      int index = Spacefish.randomInt(mAsteroids.length + mAliens.length);
+    if (Spacefish.Debug.LEVEL_DROPS && 0 < spawned)
+      Gdx.app.log(TAG, "[level] new drops: " + spawned);
 
-      // resolve empty slots
-      if (0 == mAvailable.get(index)) {
-        index = findNearest(index);
-      }
+    return spawned;
+  }
 
-      if (0 <= index) {
-        // reduce the value
-        mAvailable.set(index, mAvailable.get(index) - 1);
-        results.add(newDropInstance(index));
-      }
+  /** Write level configuration: seed, total time, spawn curve, proportions of drops. See {@link Builder#readConfig(ByteBuffer)}. */
+  public void writeConfig(final ByteBuffer out) {
+    out.putLong(mSeed).putFloat(mDuration).put((byte) mCurve);
+    writeCounts(out, mAsteroids);
+    writeCounts(out, mAliens);
+  }
+
+  /**
+   * Read configuration written by {@link #writeConfig(ByteBuffer)} and verify that it is the configuration of this
+   * level. Nothing is allocated.
+   *
+   * @throws IllegalArgumentException configuration of another level.
+   */
+  public void checkConfig(final ByteBuffer in) {
+    final long seed = in.getLong();
+    final float time = in.getFloat();
+    final int curve = in.get();
+
+    if (seed != mSeed || time != mDuration || curve != mCurve || !sameCounts(in, mAsteroids) || !sameCounts(in, mAliens)) {
+      throw new IllegalArgumentException("Configuration of another level, seed: " + seed + ", expected: " + mSeed);
     }
+  }
 
-    mAlreadyDropped += toDrop;
+  /** Write runtime state into binary snapshot: timeline cursor, state and live drops. */
+  public void save(final ByteBuffer out) {
+    out.putLong(mSeed);
+    out.putInt(mCursor);
+    out.put((byte) mState.ordinal());
+    Drops.save(out);
+  }
 
-    // update main collections
-    for (Drop drop : results) {
-      if (drop instanceof Alien) {
-        Aliens.add((Alien) drop);
-      } else if (drop instanceof Asteroid) {
-        Asteroids.add((Asteroid) drop);
-      }
+  /**
+   * Restore runtime state written by {@link #save(ByteBuffer)}. Timeline is not rebuilt, snapshot should belong to
+   * the level with the same configuration.
+   */
+  public void restore(final ByteBuffer in) {
+    final long seed = in.getLong();
+
+    if (seed != mSeed) {
+      throw new IllegalArgumentException("Snapshot of another level, seed: " + seed + ", expected: " + mSeed);
     }
 
-    if (Spacefish.Debug.LEVEL_DROPS && 0 < results.size())
-      Gdx.app.log(TAG, "[level] new drops: " + results.size());
+    final int cursor = in.getInt();
 
-    return results;
+    if (cursor < 0 || cursor > mTotalDrops) {
+      throw new IllegalArgumentException("Timeline cursor out of range: " + cursor + ", drops: " + mTotalDrops);
+    }
+
+    mCursor = cursor;
+    mState = KnownStates.values()[in.get()];
+    Drops.restore(in);
   }
 
 	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
@@ -155,12 +233,47 @@ public class Level {
     return mState;
   }
 
+  /** Seed of the level random numbers generator. Same seed and configuration produce same drops. */
+  public long getSeed() {
+    return mSeed;
+  }
+
+  /** Level total time in seconds. */
+  public float getTotalTime() {
+    return mDuration;
+  }
+
+  /** Initial proportions of asteroids, indexed by {@link Asteroid.KnownAsteroids}. Treat it as read-only. */
+  public int[] getAsteroids() {
+    return mAsteroids;
+  }
+
+  /** Initial proportions of aliens, indexed by {@link Alien.KnownAliens}. Treat it as read-only. */
+  public int[] getAliens() {
+    return mAliens;
+  }
+
+  /** Spawn curve, one of the {@link Curves}. */
+  public int getCurve() {
+    return mCurve;
+  }
+
+  /** Total quantity of drops in level timeline. */
+  public int getTotalDrops() {
+    return mTotalDrops;
+  }
+
+  /** Quantity of drops not spawned yet. */
+  public int getPendingDrops() {
+    return mTotalDrops - mCursor;
+  }
+
 	/* [ STATIC METHODS ] ==================================================================================================================================== */
 
   /** generate random asteroids configuration for level. */
-  private static int[] randomAsteroid(final int total) {
-    final int withSound = Spacefish.randomInt(total / 2); // up to 50%
-    final int withDeath = Spacefish.randomInt((int) (total * 0.4)); // up to 40%
+  private static int[] randomAsteroid(final Random random, final int total) {
+    final int withSound = random.nextInt(total / 2); // up to 50%
+    final int withDeath = random.nextInt((int) (total * 0.4)); // up to 40%
 
     return asteroids(withSound, total - withSound - withDeath, withDeath);
   }
@@ -174,7 +287,7 @@ public class Level {
   }
 
   /** generate random aliens configuration for level. */
-  private static int[] randomAliens(final int totalScore) {
+  private static int[] randomAliens(final Random random, final int totalScore) {
     int green = 0, yellow = 0, orange = 0;
     int total = Math.max(totalScore, Level.MINIMUM_LEVEL_POINTS);
     int countdown = 1 + total / MINIMUM_ALIEN_POINTS;
@@ -182,7 +295,7 @@ public class Level {
     // NOTE: a little dummy algorithm of fill. We just need something simple to randomize levels.
 
     while (total > 0 && countdown > 0) {
-      switch (Spacefish.randomInt(3)) {
+      switch (random.nextInt(3)) {
         case 2:
           if (total - Alien.ORANGE.getPoints() > 0) {
             orange++;
@@ -222,6 +335,45 @@ public class Level {
     return new int[]{green, yellow, orange};
   }
 
+  /** Unique seed for the level without explicitly defined one. */
+  private static long newSeed() {
+    return sSeeds.addAndGet(SEED_INCREMENT);
+  }
+
+  /** Utility. write drop proportions: length and counts. */
+  private static void writeCounts(final ByteBuffer out, final int[] counts) {
+    out.put((byte) counts.length);
+
+    for (int count : counts) {
+      out.putInt(count);
+    }
+  }
+
+  /** Utility. read drop proportions written by {@link #writeCounts(ByteBuffer, int[])}. */
+  private static int[] readCounts(final ByteBuffer in) {
+    final int[] counts = new int[in.get()];
+
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = in.getInt();
+    }
+
+    return counts;
+  }
+
+  /** Utility. compare drop proportions written by {@link #writeCounts(ByteBuffer, int[])} with the counts. */
+  private static boolean sameCounts(final ByteBuffer in, final int[] counts) {
+    final int length = in.get();
+    boolean same = (length == counts.length);
+
+    // read the whole record even on mismatch
+    for (int i = 0; i < length; i++) {
+      final int count = in.getInt();
+      same &= (i < counts.length && count == counts[i]);
+    }
+
+    return same;
+  }
+
   /** Utility. convert seconds to millis. */
   private static float toMillis(final float seconds) {
     return seconds * 1000 /* millis */;
@@ -229,52 +381,81 @@ public class Level {
 
 	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
 
-  private int findNearest(int index) {
-    boolean found = false;
-    int oldIndex = index;
+  /**
+   * Compile spawn timeline: drops are spread over the level time by the spawn curve, types are shuffled with proportions of the
+   * configuration, each drop gets randomized trajectory. Same trajectory as {@link Drop#randomizeTrajectory(float)} produces.
+   *
+   * @param time level total time in seconds.
+   */
+  private void compile(final float time) {
+    final Random random = new RandomXS128(mSeed);
+    final int total = mTotalDrops;
 
-    // failure, all drops of specified type are already in game
-    for (; index < mAvailable.size(); index++) {
-      if ((found = (0 < mAvailable.get(index)))) {
-        break;
+    // types in configuration order, index matches DropStore.Types
+    int position = 0;
+    for (int type = 0, types = mAsteroids.length + mAliens.length; type < types; type++) {
+      final int count = (type < mAsteroids.length) ? mAsteroids[type] : mAliens[type - mAsteroids.length];
+
+      for (int i = 0; i < count; i++) {
+        mSpawnTypes[position++] = type;
       }
     }
 
-    if (!found) {
-      index = oldIndex;
+    // Fisher-Yates shuffle
+    for (int i = total - 1; i > 0; i--) {
+      final int j = random.nextInt(i + 1);
+      final int swap = mSpawnTypes[i];
 
-      for (; index >= 0; index--) {
-        if (0 < mAvailable.get(index)) {
-          break;
-        }
-      }
+      mSpawnTypes[i] = mSpawnTypes[j];
+      mSpawnTypes[j] = swap;
     }
 
-    return index;
+    final int xLimit = (int) (Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH - Spacefish.Dimensions.ICON_WIDTH - Spacefish.Dimensions.SPACE);
+
+    // burst waves: all drops of the wave are spawned at the beginning of its period
+    final int waves = Math.max(1, (int) (time / BURST_PERIOD));
+
+    for (int i = 0; i < total; i++) {
+      // k-th drop is due when its share of the level time passed
+      final double share = (double) (i + 1) / total;
+
+      if (Curves.BURST == mCurve) {
+        final int wave = (int) ((long) i * waves / total);
+        mSpawnTimes[i] = (float) ((wave + (share * waves - wave) * BURST_SHARE) * time / waves);
+      } else {
+        mSpawnTimes[i] = (float) (time * share);
+      }
+
+      mSpawnX[i] = Spacefish.Dimensions.SPACE + random.nextInt(xLimit);
+
+      // speed of each object is different
+      mSpawnSpeeds[i] = Drop.MIN_SPEED + random.nextFloat() * Drop.MAX_SPEED;
+      mSpawnEndX[i] = random.nextInt(Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH);
+    }
   }
 
-  /** based on configuration index/position create new instance of game entity. */
-  private Drop newDropInstance(final int index) {
-    final int xLimit = (int) (Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH - Spacefish.Dimensions.ICON_WIDTH - Spacefish.Dimensions.SPACE);
-    float xOffset = Spacefish.Dimensions.SPACE + Spacefish.randomInt(xLimit);
-
-    // TODO: refactor 'magic numbers'
-
-    switch (index) {
-      case 0:
-        return Asteroid.sound(xOffset);
-      case 1:
-        return Asteroid.speed(xOffset);
-      case 2:
-        return Asteroid.death(xOffset);
-
-      case 3:
-        return Alien.green(xOffset);
-      case 4:
-        return Alien.yellow(xOffset);
-      default:
-        return Alien.orange(xOffset);
+  /** Max quantity of simultaneously live drops in timeline, assuming none of them collides with the fish. */
+  private int peakDrops() {
+    final int total = mTotalDrops;
+    final float[] exits = new float[total];
+
+    for (int i = 0; i < total; i++) {
+      exits[i] = DropStore.exitTime(Spacefish.Dimensions.VIRTUAL_SCREEN_HEIGHT, 0, mSpawnSpeeds[i], mSpawnTimes[i]);
     }
+
+    Arrays.sort(exits);
+
+    // sweep over spawns, drops exited one tick before the spawn are removed for sure
+    int peak = 0;
+    for (int i = 0, exited = 0; i < total; i++) {
+      while (exits[exited] < mSpawnTimes[i] - REMOVAL_LAG) {
+        exited++;
+      }
+
+      peak = Math.max(peak, i + 1 - exited);
+    }
+
+    return peak;
   }
 
 	/* [ NESTED DECLARATIONS ] =============================================================================================================================== */
@@ -285,11 +466,21 @@ public class Level {
     DONE
   }
 
+  /** Syntax hack. Spawn curves of the level timeline. */
+  public interface Curves {
+    /** Drops are spread evenly over the level time. */
+    int STEADY = 0;
+    /** Drops arrive by waves every {@link Level#BURST_PERIOD} seconds. */
+    int BURST = 1;
+  }
+
   /** Level builder. 'builder' pattern. */
   public static class Builder {
     private int[] mAsteroids = new int[Asteroid.KnownAsteroids.values().length];
     private int[] mAliens = new int[Alien.KnownAliens.values().length];
     private float mTotalTime;
+    private long mSeed = newSeed();
+    private int mCurve = Curves.STEADY;
 
     public Builder setAliensRaw(int[] aliens) {
       System.arraycopy(aliens, 0, mAliens, 0, mAliens.length);
@@ -306,14 +497,78 @@ public class Level {
       return this;
     }
 
+    /** Seed of the level random numbers generator. Call before {@link #randomize()} for reproducible configuration. */
+    public Builder setSeed(final long seed) {
+      mSeed = seed;
+      return this;
+    }
+
+    public long getSeed() {
+      return mSeed;
+    }
+
+    /** Spawn curve of the timeline, one of the {@link Curves}. */
+    public Builder setCurve(final int curve) {
+      mCurve = curve;
+      return this;
+    }
+
+    /**
+     * Stress configuration: high density level for the engine scalability measurements. Drops are split evenly between
+     * all types except the death asteroid, so the fish survives the whole level and each frame carries the full load.
+     *
+     * @param drops total quantity of drops, spawned over the level time.
+     */
+    public Builder stress(final int drops) {
+      final int types = DropStore.Types.COUNT - 1;
+      int rest = drops % types;
+
+      for (int type = 0; type < DropStore.Types.COUNT; type++) {
+        int count = 0;
+
+        if (DropStore.Types.ASTEROID_DEATH != type) {
+          count = drops / types + ((rest > 0) ? 1 : 0);
+          rest--;
+        }
+
+        if (type < mAsteroids.length) {
+          mAsteroids[type] = count;
+        } else {
+          mAliens[type - mAsteroids.length] = count;
+        }
+      }
+
+      return this;
+    }
+
     public Builder randomize() {
-      setAsteroidsRaw(randomAsteroid((int) mTotalTime));
-      setAliensRaw(randomAliens(MINIMUM_LEVEL_POINTS * (int) mTotalTime / 4));
+      // inverted seed, configuration should not repeat the level drops sequence
+      final Random random = new RandomXS128(~mSeed);
+
+      setAsteroidsRaw(randomAsteroid(random, (int) mTotalTime));
+      setAliensRaw(randomAliens(random, MINIMUM_LEVEL_POINTS * (int) mTotalTime / 4));
+      return this;
+    }
+
+    /** Write configuration in {@link Level#writeConfig(ByteBuffer)} format, without building the level. */
+    public void writeConfig(final ByteBuffer out) {
+      out.putLong(mSeed).putFloat(mTotalTime).put((byte) mCurve);
+      writeCounts(out, mAsteroids);
+      writeCounts(out, mAliens);
+    }
+
+    /** Read configuration written by {@link Level#writeConfig(ByteBuffer)}. */
+    public Builder readConfig(final ByteBuffer in) {
+      setSeed(in.getLong());
+      setTotalTime(in.getFloat());
+      setCurve(in.get());
+      setAsteroidsRaw(readCounts(in));
+      setAliensRaw(readCounts(in));
       return this;
     }
 
     public Level build() {
-      return new Level(mTotalTime, mAsteroids, mAliens);
+      return new Level(mTotalTime, mAsteroids, mAliens, mSeed, mCurve);
     }
   }
 }
@@ -0,0 +1,210 @@
+package com.amaya.game.entities;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+/**
+ * Compact binary pack of designed levels. Pack is memory-mapped, so opening costs no heap and no parsing: level
+ * configuration is decoded only when the level is selected.
+ * <p>
+ * Layout: magic, version, quantity of levels, offsets table (one int per level, from the pack start), then level
+ * configurations in {@link Level#writeConfig(ByteBuffer)} format. Spawn timeline is not stored: it is compiled
+ * deterministically from the configuration on level build.
+ * </p>
+ * <p>
+ * Pack is read-only and can be shared between threads, each call works on own view of the buffer.
+ * </p>
+ */
+public class LevelPack {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Pack signature: 'SFLP'. */
+  public static final int MAGIC = 0x53464C50;
+  /** Version of the pack layout. */
+  public static final int VERSION = 1;
+  /** Levels pack of the game, in application internal assets. */
+  public static final String FILE = "levels/levels.pack";
+  /** Buffer size of the pack extraction streams. */
+  private static final int BUFFER_SIZE = 4096;
+  /** Size of the pack header: magic, version, quantity. */
+  private static final int HEADER_SIZE = 3 * 4;
+  /** Max size of one level configuration: seed, time, curve, two proportions arrays of up to 8 counts. */
+  private static final int MAX_RECORD_SIZE = 8 + 4 + 1 + 2 * (1 + 8 * 4);
+  /** Pack without levels. */
+  public static final LevelPack EMPTY = new LevelPack(header(0));
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Whole pack, mapped or loaded. Never read relatively, only over duplicates. */
+  private final ByteBuffer mPack;
+  /** Quantity of levels. */
+  private final int mSize;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  /**
+   * Wrap pack data.
+   *
+   * @throws IllegalArgumentException buffer is not a levels pack of the supported version.
+   */
+  public LevelPack(final ByteBuffer pack) {
+    if (pack.remaining() < HEADER_SIZE || MAGIC != pack.getInt(pack.position())) {
+      throw new IllegalArgumentException("Not a levels pack.");
+    }
+
+    final int version = pack.getInt(pack.position() + 4);
+    if (VERSION != version) {
+      throw new IllegalArgumentException("Unsupported levels pack version: " + version);
+    }
+
+    mPack = pack.slice();
+    mSize = mPack.getInt(8);
+  }
+
+	/* [ STATIC METHODS ] ==================================================================================================================================== */
+
+  /**
+   * Open the pack asset. Asset backed by a real file is mapped directly. Asset inside APK is not a file: it is
+   * extracted into the copy (only if the copy is missing or differs from the asset) and the copy is mapped.
+   *
+   * @param copy writable location of the extracted pack, e.g. in application local storage.
+   * @throws IllegalArgumentException file is not a levels pack of the supported version.
+   */
+  public static LevelPack open(final FileHandle file, final FileHandle copy) {
+    if (file.file().isFile()) {
+      return open(file);
+    }
+
+    if (!isSame(file, copy)) {
+      file.copyTo(copy);
+    }
+
+    return open(copy);
+  }
+
+  /**
+   * Open the pack. Pack backed by a real file is memory-mapped, otherwise (assets inside APK) it is loaded into heap.
+   *
+   * @throws IllegalArgumentException file is not a levels pack of the supported version.
+   */
+  public static LevelPack open(final FileHandle file) {
+    final File raw = file.file();
+
+    if (!raw.isFile()) {
+      return new LevelPack(ByteBuffer.wrap(file.readBytes()));
+    }
+
+    try {
+      final RandomAccessFile input = new RandomAccessFile(raw, "r");
+
+      try {
+        // mapping stays valid after the channel is closed
+        return new LevelPack(input.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, input.length()));
+      } finally {
+        input.close();
+      }
+    } catch (final IOException ex) {
+      throw new GdxRuntimeException("Cannot map levels pack: " + file, ex);
+    }
+  }
+
+  /**
+   * Write the pack of levels.
+   *
+   * @param levels level configurations, in order of the pack.
+   * @param file destination file, overwritten.
+   */
+  public static void write(final List<Level.Builder> levels, final FileHandle file) {
+    final ByteBuffer records = ByteBuffer.allocate(levels.size() * MAX_RECORD_SIZE);
+    final int tableEnd = HEADER_SIZE + levels.size() * 4;
+    final ByteBuffer out = ByteBuffer.allocate(tableEnd);
+
+    out.put(header(levels.size()));
+
+    for (Level.Builder level : levels) {
+      out.putInt(tableEnd + records.position());
+      level.writeConfig(records);
+    }
+
+    file.writeBytes(out.array(), 0, out.position(), false);
+    file.writeBytes(records.array(), 0, records.position(), true);
+  }
+
+  /** Is the copy equal to the file byte by byte. Both are streamed, nothing is loaded into heap. */
+  private static boolean isSame(final FileHandle file, final FileHandle copy) {
+    if (!copy.exists()) {
+      return false;
+    }
+
+    final InputStream expected = file.read(BUFFER_SIZE);
+    final InputStream actual = copy.read(BUFFER_SIZE);
+
+    try {
+      int b;
+
+      do {
+        b = expected.read();
+
+        if (b != actual.read()) {
+          return false;
+        }
+      } while (b >= 0);
+
+      return true;
+    } catch (final IOException ignored) {
+      return false;
+    } finally {
+      StreamUtils.closeQuietly(expected);
+      StreamUtils.closeQuietly(actual);
+    }
+  }
+
+  /** Pack header ready for reading. */
+  private static ByteBuffer header(final int size) {
+    final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC).putInt(VERSION).putInt(size);
+    header.flip();
+
+    return header;
+  }
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /**
+   * Decode configuration of the level.
+   *
+   * @param index index of the level in pack.
+   * @return new builder of the level.
+   */
+  public Level.Builder builder(final int index) {
+    if (index < 0 || index >= mSize) {
+      throw new IndexOutOfBoundsException("Level: " + index + ", pack size: " + mSize);
+    }
+
+    final ByteBuffer in = mPack.duplicate();
+    in.position(mPack.getInt(HEADER_SIZE + index * 4));
+
+    return new Level.Builder().readConfig(in);
+  }
+
+  /** Decode and build the level. */
+  public Level level(final int index) {
+    return builder(index).build();
+  }
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  /** Quantity of levels in pack. */
+  public int size() {
+    return mSize;
+  }
+}
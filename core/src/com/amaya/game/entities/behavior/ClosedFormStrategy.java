@@ -0,0 +1,32 @@
+package com.amaya.game.entities.behavior;
+
+/**
+ * Movement from one point to another with constant speed, evaluated directly from the spawn time. Position is a pure
+ * function of the game time: previous position and delta are ignored, so result does not depend on the frame rate
+ * and any quantity of ticks can be skipped between evaluations.
+ * <p>
+ * Follows the same path as {@link LinearStrategy} integrates: {@code start + (end - start) * speed * (gameTime - spawnTime)}.
+ * </p>
+ */
+public class ClosedFormStrategy implements IMotionStrategy {
+  /* [ Interface IMotionStrategy ] ========================================================================================================================= */
+
+  /** {@inheritDoc} */
+  @Override
+  public void move(final Motion motion, final float gameTime, final float delta) {
+    if (motion.HasTrajectory) {
+      final float progress = progress(motion.SpawnTime, motion.Speed, gameTime);
+
+      motion.X = motion.StartX + (motion.EndX - motion.StartX) * progress;
+      motion.Y = motion.StartY + (motion.EndY - motion.StartY) * progress;
+    }
+  }
+
+	/* [ STATIC METHODS ] ==================================================================================================================================== */
+
+  /** Passed part of the trajectory at the game time, 0 - start point, 1 - end point. */
+  public static float progress(final float spawnTime, final float speed, final float gameTime) {
+    // drop can be scheduled slightly ahead of the game time, keep it on the start point
+    return Math.max(0f, gameTime - spawnTime) * speed;
+  }
+}
@@ -0,0 +1,7 @@
+package com.amaya.game.entities.behavior;
+
+/** Second generation of the behavior strategy. Works over primitive fields only and does not allocate. */
+public interface IMotionStrategy {
+  /** Update position kept in motion scratch state according to the trajectory and delta time (in seconds). */
+  void move(final Motion motion, final float gameTime, final float delta);
+}
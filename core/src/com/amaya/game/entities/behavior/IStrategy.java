@@ -6,7 +6,7 @@ import com.amaya.game.entities.modifiers.Mandate;
 import java.util.List;
 
 /** Behavior strategy of the Entity in time. */
-public abstract interface IStrategy {
+public abstract interface IStrategy extends IMotionStrategy {
   /** Update game object position according to list of command and delta time (in seconds). */
   public abstract void update(final StrategyObject entity, final List<Mandate> mandates, final float gameTime, final float delta);
 }
@@ -0,0 +1,71 @@
+package com.amaya.game.entities.behavior;
+
+/**
+ * Scratch state of the entity movement. Caller fills position, trajectory and speed from own primitive fields,
+ * strategy writes the new position back into the same instance. Designed for reuse: one instance per caller.
+ */
+public class Motion {
+  /* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** current position x-coordinate. */
+  public float X;
+  /** current position y-coordinate. */
+  public float Y;
+  /** trajectory start point x-coordinate. */
+  public float StartX;
+  /** trajectory start point y-coordinate. */
+  public float StartY;
+  /** trajectory end point x-coordinate. */
+  public float EndX;
+  /** trajectory end point y-coordinate. */
+  public float EndY;
+  /** entity speed. */
+  public float Speed;
+  /** game time of the trajectory start, in seconds. Used by time based strategies only. */
+  public float SpawnTime;
+  /** true - trajectory defined, otherwise false. */
+  public boolean HasTrajectory;
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  public Motion position(final float x, final float y) {
+    X = x;
+    Y = y;
+    return this;
+  }
+
+  public Motion trajectory(final float startX, final float startY, final float endX, final float endY) {
+    StartX = startX;
+    StartY = startY;
+    EndX = endX;
+    EndY = endY;
+    HasTrajectory = true;
+    return this;
+  }
+
+  public Motion noTrajectory() {
+    HasTrajectory = false;
+    return this;
+  }
+
+  public Motion speed(final float speed) {
+    Speed = speed;
+    return this;
+  }
+
+  public Motion spawned(final float gameTime) {
+    SpawnTime = gameTime;
+    return this;
+  }
+
+	/* [ OVERRIDES ] ========================================================================================================================================= */
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "{position: [" + X + ", " + Y + "]" +
+            ", start: [" + StartX + ", " + StartY + "]" +
+            ", end: [" + EndX + ", " + EndY + "]" +
+            ", speed: " + Speed + "}";
+  }
+}
@@ -0,0 +1,49 @@
+package com.amaya.game.entities.behavior;
+
+import com.amaya.game.entities.StrategyObject;
+import com.amaya.game.entities.modifiers.Mandate;
+import com.amaya.game.entities.modifiers.MoveTo;
+
+import java.util.List;
+
+/**
+ * Base class of the strategies. Implements {@link IStrategy} contract on top of allocation free
+ * {@link IMotionStrategy#move(Motion, float, float)}. Hot paths should use {@link #move(Motion, float, float)} directly
+ * with own reusable {@link Motion} instance.
+ */
+public abstract class MotionStrategy implements IStrategy {
+  /* [ Interface IStrategy ] =============================================================================================================================== */
+
+  /** {@inheritDoc} */
+  @Override
+  public void update(final StrategyObject entity, final List<Mandate> mandates, final float gameTime, final float delta) {
+    final Motion motion = new Motion()
+            .position(entity.Bounds.x, entity.Bounds.y)
+            .speed(entity.getSpeed(gameTime));
+
+    if (target(motion, entity, mandates)) {
+      move(motion, gameTime, delta);
+
+      // recalculate entity position in space
+      entity.setPosition(motion.X, motion.Y);
+    }
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  /**
+   * Resolve trajectory of the entity.
+   *
+   * @return true - entity should be moved, otherwise false.
+   */
+  protected boolean target(final Motion motion, final StrategyObject entity, final List<Mandate> mandates) {
+    final MoveTo cmd = (null == mandates) ? null : Mandate.<MoveTo>findFirst(mandates, Mandate.Kinds.MOVE_TO);
+
+    if (null == cmd) {
+      return false;
+    }
+
+    motion.trajectory(cmd.StartX, cmd.StartY, cmd.EndX, cmd.EndY);
+    return true;
+  }
+}
@@ -2,50 +2,44 @@ package com.amaya.game.entities.behavior;
 
 import com.amaya.game.Spacefish;
 import com.amaya.game.entities.StrategyObject;
-import com.amaya.game.entities.modifiers.CommandsFactory;
 import com.amaya.game.entities.modifiers.Mandate;
-import com.amaya.game.entities.modifiers.MoveTo;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Vector2;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /** Simplest strategy implements movement from one point to another by line. */
-public class NoGravityStrategy implements IStrategy {
-  /* [ Interface IStrategy ] =============================================================================================================================== */
+public class NoGravityStrategy extends MotionStrategy {
+  /* [ Interface IMotionStrategy ] ========================================================================================================================= */
 
   /** {@inheritDoc} */
   @Override
-  public void update(final StrategyObject entity, final List<Mandate> mandates, final float gameTime, final float delta) {
-    if (Spacefish.Debug.STRATEGY_GRAVITY)
-      Gdx.app.log(Spacefish.LOG_TAG, "[strategy] gravity - current: " + entity.getPosition());
-
-    final List<Mandate> newSet = new ArrayList<Mandate>();
-    MoveTo mtc = null;
+  public void move(final Motion motion, final float gameTime, final float delta) {
+    // create vertical line trajectory
+    if (!motion.HasTrajectory) {
+      motion.trajectory(motion.X, Spacefish.Dimensions.VIRTUAL_SCREEN_HEIGHT, motion.X, 0);
+    }
 
-    if (entity instanceof IOwnTrajectory) {
-      mtc = (MoveTo) CommandsFactory.moveTo((IOwnTrajectory) entity);
-    } else {
-      final Vector2 p = entity.getPosition();
+    if (Spacefish.Debug.STRATEGY_GRAVITY)
+      Gdx.app.log(Spacefish.LOG_TAG, "[strategy] gravity - " + motion);
 
-      // create vertical line trajectory
-      mtc = (MoveTo) CommandsFactory.moveTo(
-              new Vector2(p.x, Spacefish.Dimensions.VIRTUAL_SCREEN_HEIGHT),
-              new Vector2(p.x, 0));
-    }
+    StrategiesFactory.LinearMoveByVector.move(motion, gameTime, delta);
+  }
 
-    if (null != mtc) {
-      if (Spacefish.Debug.STRATEGY_GRAVITY)
-        Gdx.app.log(Spacefish.LOG_TAG, "[strategy] gravity - start: " + mtc.getStart() + ", end: " + mtc.getEnd());
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
 
-      newSet.add(mtc);
-    }
+  /** {@inheritDoc} Entity own trajectory has priority over commands. */
+  @Override
+  protected boolean target(final Motion motion, final StrategyObject entity, final List<Mandate> mandates) {
+    if (entity instanceof IOwnTrajectory) {
+      final Vector2 start = ((IOwnTrajectory) entity).getStart();
+      final Vector2 end = ((IOwnTrajectory) entity).getEnd();
 
-    if (null != mandates) {
-      newSet.addAll(mandates);
+      motion.trajectory(start.x, start.y, end.x, end.y);
+    } else {
+      motion.noTrajectory();
     }
 
-    StrategiesFactory.LinearMoveByVector.update(entity, newSet, gameTime, delta);
+    return true;
   }
 }
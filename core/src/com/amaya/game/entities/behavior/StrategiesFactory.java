@@ -12,4 +12,6 @@ public final class StrategiesFactory {
   public static final IStrategy MomentumMoveByVector = new MomentumStrategy();
   /** instance of Linear move strategy. */
   public static final IStrategy LinearMoveByVector = new LinearStrategy();
+  /** instance of Linear move strategy evaluated from the spawn time, see {@link Motion#SpawnTime}. */
+  public static final IMotionStrategy ClosedForm = new ClosedFormStrategy();
 }
@@ -9,6 +9,8 @@ import com.amaya.game.entities.modifiers.Mandate;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Vector2;
 
+import java.util.Random;
+
 /** Abstract dropped item on the game field. */
 public abstract class Drop
         extends StrategyObject
@@ -66,11 +68,16 @@ public abstract class Drop
     return mEnd;
   }
 
-  /** Randomize trajectory but start from defined xOffset. */
+  /** Randomize trajectory but start from defined xOffset. Uses shared random numbers generator. */
   public <T extends Drop> T randomizeTrajectory(final float xOffset) {
+    return randomizeTrajectory(xOffset, Spacefish.getRandom());
+  }
+
+  /** Randomize trajectory by session random numbers generator, but start from defined xOffset. */
+  public <T extends Drop> T randomizeTrajectory(final float xOffset, final Random random) {
     // define start and end points
     mStart.set(xOffset, Spacefish.Dimensions.VIRTUAL_SCREEN_HEIGHT);
-    mEnd.set(Spacefish.randomInt(Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH), 0);
+    mEnd.set(random.nextInt(Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH), 0);
 
     // update current position
     setPosition(mStart.x, mStart.y);
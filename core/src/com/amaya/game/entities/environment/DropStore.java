@@ -0,0 +1,585 @@
+package com.amaya.game.entities.environment;
+
+import com.amaya.game.ParallelRange;
+import com.amaya.game.Spacefish;
+import com.amaya.game.entities.behavior.ClosedFormStrategy;
+import com.amaya.game.entities.behavior.IMotionStrategy;
+import com.amaya.game.entities.behavior.Motion;
+import com.amaya.game.entities.behavior.StrategiesFactory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Storage of the live drops in 'structure of arrays' form. Each drop property is kept in own primitive array, so
+ * updates and collision checks run over contiguous memory and spawn/despawn produce no garbage.
+ * <p>
+ * Drop is identified by index in range [0..size). Removal swaps the last drop into the removed slot, so indexes are
+ * not stable between removals. Iterate backward if drops can be removed during iteration.
+ * </p>
+ * <p>
+ * With {@link StrategiesFactory#ClosedForm} strategy (default) position is a pure function of the game time, so
+ * {@link #update(float, float)} only remembers the time and position of the drop is evaluated on read. Broadphase grid
+ * keeps positions of an earlier time and is rebuilt only when the fastest drop could pass {@link #GRID_MAX_LAG} since
+ * then; collision queries are widened by that lag. Ticks between rebuilds touch only drops of the queried cells, drops
+ * that leave the field can be found by {@link #getExitTime(int)}.
+ * </p>
+ */
+public class DropStore {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Initial capacity of the storage. */
+  public static final int DEFAULT_CAPACITY = 64;
+  /** Size of the broadphase grid cell. Equal to the drop icon size. */
+  public static final float GRID_CELL_SIZE = Spacefish.Dimensions.ICON_WIDTH;
+  /**
+   * Max distance passed by drops of the time based strategy after the grid rebuild. Bigger lag - rarer rebuilds and
+   * wider collision queries.
+   */
+  public static final float GRID_MAX_LAG = GRID_CELL_SIZE / 2;
+  /** Min quantity of drops moved in parallel. Smaller stores do not pay back the threads hand-off. */
+  public static final int PARALLEL_THRESHOLD = 2048;
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Position at the grid time, x-coordinate. Current position for integrating strategies. */
+  private float[] mX;
+  /** Position at the grid time, y-coordinate. Current position for integrating strategies. */
+  private float[] mY;
+  /** Position at the previous update, x-coordinate. Kept for integrating strategies only. */
+  private float[] mPrevX;
+  /** Position at the previous update, y-coordinate. Kept for integrating strategies only. */
+  private float[] mPrevY;
+  /** Speed of the drop. */
+  private float[] mSpeed;
+  /** Trajectory start point, x-coordinate. */
+  private float[] mStartX;
+  /** Trajectory start point, y-coordinate. */
+  private float[] mStartY;
+  /** Trajectory end point, x-coordinate. */
+  private float[] mEndX;
+  /** Trajectory end point, y-coordinate. */
+  private float[] mEndY;
+  /** Drop type, one of the {@link Types}. */
+  private int[] mType;
+  /** Game time of the trajectory start. */
+  private float[] mSpawnTime;
+  /** Game time when drop leaves the field, passes the bottom accuracy line. */
+  private float[] mExitTime;
+  /** Quantity of live drops. */
+  private int mSize;
+  /** Broadphase of the drops positions at the grid time. */
+  private final UniformGrid mGrid;
+  /** Movement strategy of all drops. */
+  private IMotionStrategy mStrategy = StrategiesFactory.ClosedForm;
+  /** Movement scratch state, reused for each drop. */
+  private final Motion mMotion = new Motion();
+  /** Workers of the parallel movement, NULL - drops are moved by the updating thread. */
+  private ParallelRange mParallel;
+  /** Movement scratch state of each parallel worker. */
+  private Motion[] mMotions;
+  /** Parallel movement chunk. */
+  private final ParallelRange.ITask mMoveChunk = new ParallelRange.ITask() {
+    @Override
+    public void run(final int from, final int to, final int worker) {
+      moveRange(from, to, mMotions[worker], mMoveTime, mMoveDelta);
+    }
+  };
+  /** Game time of the running parallel movement. */
+  private float mMoveTime;
+  /** Delta of the running parallel movement. */
+  private float mMoveDelta;
+  /** Game time of the last update. */
+  private float mTime;
+  /** Game time of the update before the last one. */
+  private float mPrevTime;
+  /** Fastest drop, max of the per axis distance passed in one second. Never decreases till {@link #clear()}. */
+  private float mMaxVelocity;
+  /** Game time of the positions kept in the grid. Equals to the last update time for integrating strategies. */
+  private float mGridTime;
+  /** true - grid should be rebuilt regardless of the lag. */
+  private boolean mDirty;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  public DropStore() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public DropStore(final int capacity) {
+    final int size = Math.max(1, capacity);
+
+    mX = new float[size];
+    mY = new float[size];
+    mPrevX = new float[size];
+    mPrevY = new float[size];
+    mSpeed = new float[size];
+    mStartX = new float[size];
+    mStartY = new float[size];
+    mEndX = new float[size];
+    mEndY = new float[size];
+    mType = new int[size];
+    mSpawnTime = new float[size];
+    mExitTime = new float[size];
+
+    mGrid = new UniformGrid(Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH, Spacefish.Dimensions.VIRTUAL_SCREEN_HEIGHT,
+            GRID_CELL_SIZE, size);
+  }
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /**
+   * Add new drop. Drop starts own movement from the trajectory start point at the time of the last update.
+   *
+   * @return index of the new drop.
+   */
+  public int add(final int type, final float startX, final float startY, final float endX, final float endY, final float speed) {
+    return add(type, startX, startY, endX, endY, speed, mTime);
+  }
+
+  /**
+   * Add new drop with known trajectory start time. Time based strategies place the drop on own trajectory
+   * according to the game time, others start from the trajectory start point.
+   *
+   * @return index of the new drop.
+   */
+  public int add(final int type, final float startX, final float startY, final float endX, final float endY, final float speed,
+                 final float spawnTime) {
+    if (mSize == mType.length) {
+      grow(mSize * 2);
+    }
+
+    final int i = mSize++;
+
+    mType[i] = type;
+    mSpeed[i] = speed;
+    mStartX[i] = startX;
+    mStartY[i] = startY;
+    mEndX[i] = endX;
+    mEndY[i] = endY;
+    mSpawnTime[i] = spawnTime;
+    mExitTime[i] = exitTime(startY, endY, speed, spawnTime);
+
+    // grid keeps all drops at the same time
+    final float x = isClosedForm() ? at(mStartX, mEndX, i, mGridTime) : startX;
+    final float y = isClosedForm() ? at(mStartY, mEndY, i, mGridTime) : startY;
+    mX[i] = x;
+    mY[i] = y;
+    mPrevX[i] = x;
+    mPrevY[i] = y;
+
+    mGrid.insert(i, x, y);
+    mMaxVelocity = Math.max(mMaxVelocity, Math.max(Math.abs(endX - startX), Math.abs(endY - startY)) * speed);
+
+    return i;
+  }
+
+  /** Remove drop by index. Last drop takes the freed slot. */
+  public void remove(final int i) {
+    final int last = --mSize;
+
+    mGrid.remove(i);
+
+    if (i != last) {
+      mGrid.relink(last, i);
+
+      mType[i] = mType[last];
+      mSpeed[i] = mSpeed[last];
+      mStartX[i] = mStartX[last];
+      mStartY[i] = mStartY[last];
+      mEndX[i] = mEndX[last];
+      mEndY[i] = mEndY[last];
+      mX[i] = mX[last];
+      mY[i] = mY[last];
+      mPrevX[i] = mPrevX[last];
+      mPrevY[i] = mPrevY[last];
+      mSpawnTime[i] = mSpawnTime[last];
+      mExitTime[i] = mExitTime[last];
+    }
+  }
+
+  /**
+   * Write all live drops into binary snapshot. Strategy is not a part of the snapshot, positions are evaluated
+   * before writing.
+   */
+  public void save(final ByteBuffer out) {
+    out.putFloat(mTime).putFloat(mPrevTime).putFloat(mMaxVelocity);
+    out.putInt(mSize);
+
+    for (int i = 0, len = mSize; i < len; i++) {
+      out.put((byte) mType[i]);
+      out.putFloat(mStartX[i]).putFloat(mStartY[i]).putFloat(mEndX[i]).putFloat(mEndY[i]);
+      out.putFloat(mSpeed[i]).putFloat(mSpawnTime[i]);
+      out.putFloat(getX(i)).putFloat(getY(i)).putFloat(getPreviousX(i)).putFloat(getPreviousY(i));
+    }
+  }
+
+  /** Replace live drops by the drops written by {@link #save(ByteBuffer)}. */
+  public void restore(final ByteBuffer in) {
+    clear();
+
+    mTime = in.getFloat();
+    mPrevTime = in.getFloat();
+    final float maxVelocity = in.getFloat();
+    final int size = in.getInt();
+
+    ensureCapacity(size);
+
+    for (int n = 0; n < size; n++) {
+      final int type = in.get();
+      final float startX = in.getFloat(), startY = in.getFloat(), endX = in.getFloat(), endY = in.getFloat();
+      final float speed = in.getFloat(), spawnTime = in.getFloat();
+      final int i = add(type, startX, startY, endX, endY, speed, spawnTime);
+
+      mX[i] = in.getFloat();
+      mY[i] = in.getFloat();
+      mPrevX[i] = in.getFloat();
+      mPrevY[i] = in.getFloat();
+
+      mGrid.move(i, mX[i], mY[i]);
+    }
+
+    mMaxVelocity = maxVelocity;
+    mGridTime = mTime;
+    mDirty = false;
+  }
+
+  /** Make sure that storage keeps specified quantity of drops without reallocation. */
+  public void ensureCapacity(final int capacity) {
+    if (capacity > mType.length) {
+      grow(capacity);
+    }
+  }
+
+  /** Remove all drops. */
+  public void clear() {
+    mSize = 0;
+    mTime = 0;
+    mPrevTime = 0;
+    mMaxVelocity = 0;
+    mGridTime = 0;
+    mDirty = false;
+    mGrid.clear();
+  }
+
+  /**
+   * Move all drops along own trajectories by the drops strategy. Time based strategy only remembers the game time,
+   * positions are evaluated on read.
+   *
+   * @param gameTime - total game time in seconds
+   * @param delta - time between calls in seconds
+   */
+  public void update(final float gameTime, final float delta) {
+    mPrevTime = mTime;
+    mTime = gameTime;
+
+    if (isClosedForm()) {
+      return;
+    }
+
+    move(gameTime, delta);
+  }
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  /** Quantity of live drops. */
+  public int size() {
+    return mSize;
+  }
+
+  public boolean isEmpty() {
+    return 0 == mSize;
+  }
+
+  /** Quantity of drops that storage can keep without reallocation. */
+  public int getCapacity() {
+    return mType.length;
+  }
+
+  public int getType(final int i) {
+    return mType[i];
+  }
+
+  public float getX(final int i) {
+    if (isClosedForm()) {
+      return at(mStartX, mEndX, i, mTime);
+    }
+
+    return mX[i];
+  }
+
+  public float getY(final int i) {
+    if (isClosedForm()) {
+      return at(mStartY, mEndY, i, mTime);
+    }
+
+    return mY[i];
+  }
+
+  /** Position at the previous update, x-coordinate. Start of the path passed by the drop during the last tick. */
+  public float getPreviousX(final int i) {
+    if (isClosedForm()) {
+      return at(mStartX, mEndX, i, mPrevTime);
+    }
+
+    return mPrevX[i];
+  }
+
+  /** Position at the previous update, y-coordinate. Start of the path passed by the drop during the last tick. */
+  public float getPreviousY(final int i) {
+    if (isClosedForm()) {
+      return at(mStartY, mEndY, i, mPrevTime);
+    }
+
+    return mPrevY[i];
+  }
+
+  /**
+   * Upper bound of the per axis distance between the grid position of any drop and any point of its path during the
+   * last tick, assuming linear movement. Valid till the next {@link #getGrid()} call, which can rebuild the grid.
+   */
+  public float getMaxTravel() {
+    return mMaxVelocity * (mTime - Math.min(mPrevTime, mGridTime));
+  }
+
+  public float getSpeed(final int i) {
+    return mSpeed[i];
+  }
+
+  public float getStartX(final int i) {
+    return mStartX[i];
+  }
+
+  public float getStartY(final int i) {
+    return mStartY[i];
+  }
+
+  public float getEndX(final int i) {
+    return mEndX[i];
+  }
+
+  public float getEndY(final int i) {
+    return mEndY[i];
+  }
+
+  /** Game time of the drop trajectory start. */
+  public float getSpawnTime(final int i) {
+    return mSpawnTime[i];
+  }
+
+  /** Game time after which the drop is below the field accuracy line, assuming linear movement along the trajectory. */
+  public float getExitTime(final int i) {
+    return mExitTime[i];
+  }
+
+  /** Game time of the last update. */
+  public float getTime() {
+    return mTime;
+  }
+
+  /** Set drop position. Ignored by time based strategy, its position is a function of the game time. */
+  public void setPosition(final int i, final float x, final float y) {
+    if (isClosedForm())
+      return;
+
+    mX[i] = x;
+    mY[i] = y;
+
+    mGrid.move(i, x, y);
+  }
+
+  /** Movement strategy of all drops. */
+  public IMotionStrategy getStrategy() {
+    return mStrategy;
+  }
+
+  public void setStrategy(final IMotionStrategy strategy) {
+    // integrating strategy continues from the current positions
+    if (isClosedForm()) {
+      move(mTime, 0);
+    }
+
+    mStrategy = strategy;
+    mDirty = isClosedForm();
+  }
+
+  /**
+   * Move drops in parallel, by chunks of independent drops. Used only for stores of at least {@link #PARALLEL_THRESHOLD}
+   * drops, broadphase grid is always updated by the calling thread.
+   *
+   * @param parallel workers, NULL - drops are moved by the updating thread.
+   */
+  public void setParallel(final ParallelRange parallel) {
+    mParallel = parallel;
+    mMotions = null;
+
+    if (null != parallel) {
+      mMotions = new Motion[parallel.getWorkers()];
+
+      for (int i = 0; i < mMotions.length; i++) {
+        mMotions[i] = new Motion();
+      }
+    }
+  }
+
+  /** Is drops position a pure function of the game time. */
+  public boolean isClosedForm() {
+    return mStrategy instanceof ClosedFormStrategy;
+  }
+
+  /**
+   * Broadphase of the drops positions. Identifiers in grid are drop indexes. Grid of the time based strategy can lag
+   * behind the last update, query it with {@link #getMaxTravel()} margin.
+   */
+  public UniformGrid getGrid() {
+    evaluate();
+    return mGrid;
+  }
+
+  /** Game time of the positions kept in the grid. */
+  public float getGridTime() {
+    return mGridTime;
+  }
+
+	/* [ STATIC METHODS ] ==================================================================================================================================== */
+
+  /** Is drop type an alien. */
+  public static boolean isAlien(final int type) {
+    return type >= Types.ALIEN_GREEN;
+  }
+
+  /** Get dummy instance of the drop type. Used for accessing modifier and visual resources of the type. */
+  public static Drop prototype(final int type) {
+    switch (type) {
+      case Types.ASTEROID_SOUND:
+        return Asteroid.SOUND;
+      case Types.ASTEROID_SPEED:
+        return Asteroid.HALF_SPEED;
+      case Types.ASTEROID_DEATH:
+        return Asteroid.DEATH;
+
+      case Types.ALIEN_GREEN:
+        return Alien.GREEN;
+      case Types.ALIEN_YELLOW:
+        return Alien.YELLOW;
+      default:
+        return Alien.ORANGE;
+    }
+  }
+
+  /**
+   * Game time when drop moving linearly passes the bottom accuracy line.
+   *
+   * @return exit time, or positive infinity for drops that never go down.
+   */
+  public static float exitTime(final float startY, final float endY, final float speed, final float spawnTime) {
+    final float velocity = (endY - startY) * speed;
+
+    if (velocity >= 0) {
+      return Float.POSITIVE_INFINITY;
+    }
+
+    return spawnTime + (Spacefish.Dimensions.ACCURACY - startY) / velocity;
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  /** Rebuild grid of the time based strategy when the fastest drop could leave own cell too far. */
+  private void evaluate() {
+    if (isClosedForm() && (mDirty || mMaxVelocity * (mTime - mGridTime) > GRID_MAX_LAG)) {
+      mDirty = false;
+      move(mTime, 0);
+    }
+  }
+
+  /** Position of the time based strategy drop on one axis. */
+  private float at(final float[] start, final float[] end, final int i, final float gameTime) {
+    return start[i] + (end[i] - start[i]) * ClosedFormStrategy.progress(mSpawnTime[i], mSpeed[i], gameTime);
+  }
+
+  /** Move all drops by the strategy. */
+  private void move(final float gameTime, final float delta) {
+    final int size = mSize;
+
+    if (null != mParallel && size >= PARALLEL_THRESHOLD) {
+      mMoveTime = gameTime;
+      mMoveDelta = delta;
+      mParallel.run(size, mMoveChunk);
+    } else {
+      moveRange(0, size, mMotion, gameTime, delta);
+    }
+
+    // grid is not thread safe, update it after all positions are known
+    final float[] x = mX, y = mY;
+    final UniformGrid grid = mGrid;
+
+    for (int i = 0; i < size; i++) {
+      grid.move(i, x[i], y[i]);
+    }
+
+    mGridTime = gameTime;
+  }
+
+  /** Move drops [from..to) by the strategy. Touches only own drops, so ranges can be moved concurrently. */
+  private void moveRange(final int from, final int to, final Motion motion, final float gameTime, final float delta) {
+    final float[] x = mX, y = mY, prevX = mPrevX, prevY = mPrevY, speed = mSpeed;
+    final float[] startX = mStartX, startY = mStartY, endX = mEndX, endY = mEndY;
+    final IMotionStrategy strategy = mStrategy;
+    final float[] spawnTime = mSpawnTime;
+
+    for (int i = from; i < to; i++) {
+      motion.position(x[i], y[i])
+              .trajectory(startX[i], startY[i], endX[i], endY[i])
+              .speed(speed[i])
+              .spawned(spawnTime[i]);
+
+      strategy.move(motion, gameTime, delta);
+
+      prevX[i] = x[i];
+      prevY[i] = y[i];
+      x[i] = motion.X;
+      y[i] = motion.Y;
+    }
+  }
+
+  /** Re-allocate arrays with new capacity. */
+  private void grow(final int capacity) {
+    mX = Arrays.copyOf(mX, capacity);
+    mY = Arrays.copyOf(mY, capacity);
+    mPrevX = Arrays.copyOf(mPrevX, capacity);
+    mPrevY = Arrays.copyOf(mPrevY, capacity);
+    mSpeed = Arrays.copyOf(mSpeed, capacity);
+    mStartX = Arrays.copyOf(mStartX, capacity);
+    mStartY = Arrays.copyOf(mStartY, capacity);
+    mEndX = Arrays.copyOf(mEndX, capacity);
+    mEndY = Arrays.copyOf(mEndY, capacity);
+    mType = Arrays.copyOf(mType, capacity);
+    mSpawnTime = Arrays.copyOf(mSpawnTime, capacity);
+    mExitTime = Arrays.copyOf(mExitTime, capacity);
+
+    mGrid.ensureCapacity(capacity);
+  }
+
+	/* [ NESTED DECLARATIONS ] =============================================================================================================================== */
+
+  /**
+   * Syntax hack. Known drop types. Order matches level configuration: first {@link Asteroid.KnownAsteroids},
+   * than {@link Alien.KnownAliens}.
+   */
+  public interface Types {
+    /** Asteroid that plays annoying sound. */
+    int ASTEROID_SOUND = 0;
+    /** Asteroid that slows down the fish. */
+    int ASTEROID_SPEED = 1;
+    /** Asteroid that kills the fish. */
+    int ASTEROID_DEATH = 2;
+    /** Cheapest alien. */
+    int ALIEN_GREEN = 3;
+    /** Alien. */
+    int ALIEN_YELLOW = 4;
+    /** Most expensive alien. */
+    int ALIEN_ORANGE = 5;
+    /** Quantity of known types. */
+    int COUNT = 6;
+  }
+}
@@ -0,0 +1,183 @@
+package com.amaya.game.entities.environment;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid broadphase. Splits the game field on equal cells and keeps for each cell intrusive double linked list
+ * of the entities identifiers (points). Entity re-bucketing is O(1), query cost depends only on quantity of entities in
+ * touched cells.
+ * <p>
+ * Points outside the field are clamped to the border cells.
+ * </p>
+ */
+public class UniformGrid {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Marker of the list end / not registered entity. */
+  public static final int NONE = -1;
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Reversed size of the cell. */
+  private final float mInvCellSize;
+  /** Quantity of cells in row. */
+  private final int mColumns;
+  /** Quantity of cells in column. */
+  private final int mRows;
+  /** First entity of each cell. */
+  private final int[] mHead;
+  /** Next entity in the same cell. */
+  private int[] mNext;
+  /** Previous entity in the same cell. */
+  private int[] mPrev;
+  /** Cell of the entity. */
+  private int[] mCell;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  /**
+   * Create grid for the field.
+   *
+   * @param width field width.
+   * @param height field height.
+   * @param cellSize size of the cell.
+   * @param capacity initial quantity of entities.
+   */
+  public UniformGrid(final float width, final float height, final float cellSize, final int capacity) {
+    mInvCellSize = 1.0f / cellSize;
+    mColumns = Math.max(1, (int) Math.ceil(width / cellSize));
+    mRows = Math.max(1, (int) Math.ceil(height / cellSize));
+
+    mHead = new int[mColumns * mRows];
+    Arrays.fill(mHead, NONE);
+
+    mNext = new int[capacity];
+    mPrev = new int[capacity];
+    mCell = new int[capacity];
+  }
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /** Register entity in cell that contains the point. */
+  public void insert(final int id, final float x, final float y) {
+    ensureCapacity(id + 1);
+    link(id, cell(column(x), row(y)));
+  }
+
+  /** Un-register entity. */
+  public void remove(final int id) {
+    unlink(id);
+  }
+
+  /** Entity changed own position. Re-bucket it if the cell changed. */
+  public void move(final int id, final float x, final float y) {
+    final int cell = cell(column(x), row(y));
+
+    if (cell != mCell[id]) {
+      unlink(id);
+      link(id, cell);
+    }
+  }
+
+  /** Entity changed own identifier. Slot 'to' should be free (removed) before the call. */
+  public void relink(final int from, final int to) {
+    final int prev = mPrev[from], next = mNext[from], cell = mCell[from];
+
+    if (NONE == prev) {
+      mHead[cell] = to;
+    } else {
+      mNext[prev] = to;
+    }
+
+    if (NONE != next) {
+      mPrev[next] = to;
+    }
+
+    mPrev[to] = prev;
+    mNext[to] = next;
+    mCell[to] = cell;
+  }
+
+  /** Remove all entities. */
+  public void clear() {
+    Arrays.fill(mHead, NONE);
+  }
+
+  /** Make sure that grid can keep specified quantity of entities. */
+  public void ensureCapacity(final int capacity) {
+    if (capacity > mCell.length) {
+      final int size = Math.max(capacity, mCell.length * 2);
+
+      mNext = Arrays.copyOf(mNext, size);
+      mPrev = Arrays.copyOf(mPrev, size);
+      mCell = Arrays.copyOf(mCell, size);
+    }
+  }
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  /** Column of the x-coordinate, clamped to the grid. */
+  public int column(final float x) {
+    final int c = (int) (x * mInvCellSize);
+    return (c < 0) ? 0 : (c >= mColumns ? mColumns - 1 : c);
+  }
+
+  /** Row of the y-coordinate, clamped to the grid. */
+  public int row(final float y) {
+    final int r = (int) (y * mInvCellSize);
+    return (r < 0) ? 0 : (r >= mRows ? mRows - 1 : r);
+  }
+
+  /** Cell index. */
+  public int cell(final int column, final int row) {
+    return row * mColumns + column;
+  }
+
+  /** First entity in the cell or {@link #NONE}. */
+  public int first(final int cell) {
+    return mHead[cell];
+  }
+
+  /** Next entity in the same cell or {@link #NONE}. */
+  public int next(final int id) {
+    return mNext[id];
+  }
+
+  public int getColumns() {
+    return mColumns;
+  }
+
+  public int getRows() {
+    return mRows;
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  private void link(final int id, final int cell) {
+    final int head = mHead[cell];
+
+    mCell[id] = cell;
+    mPrev[id] = NONE;
+    mNext[id] = head;
+
+    if (NONE != head) {
+      mPrev[head] = id;
+    }
+
+    mHead[cell] = id;
+  }
+
+  private void unlink(final int id) {
+    final int prev = mPrev[id], next = mNext[id];
+
+    if (NONE == prev) {
+      mHead[mCell[id]] = next;
+    } else {
+      mNext[prev] = next;
+    }
+
+    if (NONE != next) {
+      mPrev[next] = prev;
+    }
+  }
+}
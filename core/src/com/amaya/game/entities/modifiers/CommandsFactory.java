@@ -1,16 +1,46 @@
 package com.amaya.game.entities.modifiers;
 
+import com.amaya.game.GameController;
 import com.amaya.game.entities.Fish;
 import com.amaya.game.entities.behavior.IOwnTrajectory;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Pool;
+
+import java.nio.ByteBuffer;
 
 import static com.amaya.game.entities.Fish.Fields.HEALTH;
 import static com.amaya.game.entities.Fish.Fields.POINTS;
 
-/** */
+/**
+ * Factory of the commands. All commands are taken from pools; return consumed command back by {@link #free(Mandate)},
+ * so steady state game loop does not allocate commands at all.
+ * <p>
+ * Pools are thread confined: command should be freed by the same thread that obtained it, otherwise it moves to the
+ * pool of another thread. With the worker thread simulation all commands of the game loop are created and freed on the
+ * worker, see {@link com.amaya.game.SimulationPipeline#execute(Runnable)}; only rare hand-overs of the controller
+ * (snapshot restore before the worker start, worker restart) move a few pending commands between the pools.
+ * </p>
+ */
 public final class CommandsFactory {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Names of the commands, written into snapshots as index. Append only, order is a part of the snapshot format. */
+  private static final String[] KNOWN_NAMES = {HEALTH, POINTS, Fish.Fields.SPEED, Fish.Fields.POSITION, GameController.Events.ANNOYING_SOUND};
+  /** Marker of the name written as is. */
+  private static final byte UNKNOWN_NAME = -1;
+
+  /* [ STATIC MEMBERS ] ==================================================================================================================================== */
+
+  /** Pools of the current thread. Game loop runs on one thread at a time, so pools are never shared. */
+  private static final ThreadLocal<Pools> sPools = new ThreadLocal<Pools>() {
+    @Override
+    protected Pools initialValue() {
+      return new Pools();
+    }
+  };
+
   /* [ STATIC METHODS ] ==================================================================================================================================== */
 
   /**
@@ -20,7 +50,7 @@ public final class CommandsFactory {
    * @return the command
    */
   public static Mandate life(final float value) {
-    return new Modifier(HEALTH, value);
+    return sPools.get().Modifiers.obtain().set(HEALTH, value);
   }
 
   /**
@@ -30,7 +60,7 @@ public final class CommandsFactory {
    * @return the command
    */
   public static Mandate points(final float value) {
-    return new Modifier(POINTS, value);
+    return sPools.get().Modifiers.obtain().set(POINTS, value);
   }
 
   /**
@@ -40,22 +70,201 @@ public final class CommandsFactory {
    * @return the command
    */
   public static Mandate event(final String name) {
-    return new Event(name);
+    return sPools.get().Events.obtain().set(name);
   }
 
   public static Mandate speed(final float value, final int seconds) {
-    return new Expirable(Fish.Fields.SPEED, value, seconds);
+    return sPools.get().Expirables.obtain().set(Fish.Fields.SPEED, value, seconds);
   }
 
   public static Mandate moveTo(final Rectangle start, final Vector3 point) {
-    return new MoveTo(start.x, start.y, point.x, point.y);
+    return sPools.get().Moves.obtain().set(start.x, start.y, point.x, point.y);
   }
 
   public static Mandate moveTo(final Vector2 start, final Vector2 point) {
-    return new MoveTo(start.x, start.y, point.x, point.y);
+    return sPools.get().Moves.obtain().set(start.x, start.y, point.x, point.y);
   }
 
   public static Mandate moveTo(final IOwnTrajectory iot) {
     return moveTo(iot.getStart(), iot.getEnd());
   }
+
+  /** Get pooled copy of the command. Used for applying shared (prototype) commands. */
+  public static Mandate copyOf(final Mandate cmd) {
+    final Pools pools = sPools.get();
+
+    switch (cmd.Kind) {
+      case Mandate.Kinds.MOVE_TO:
+        final MoveTo mtc = (MoveTo) cmd;
+        return pools.Moves.obtain().set(mtc.StartX, mtc.StartY, mtc.EndX, mtc.EndY);
+
+      case Mandate.Kinds.EXPIRABLE:
+        final Expirable ec = (Expirable) cmd;
+        return pools.Expirables.obtain().set(ec.Name, ec.Value, ec.getExpiredAt());
+
+      case Mandate.Kinds.MODIFIER:
+        return pools.Modifiers.obtain().set(cmd.Name, ((Modifier) cmd).Value);
+
+      default:
+        return pools.Events.obtain().set(cmd.Name);
+    }
+  }
+
+  /**
+   * Write command into binary snapshot. Known names are written as one byte index.
+   *
+   * @see #read(ByteBuffer)
+   */
+  public static void write(final ByteBuffer out, final Mandate cmd) {
+    out.put((byte) cmd.Kind);
+    writeName(out, cmd.Name);
+    out.putFloat(cmd.Timestamp);
+
+    switch (cmd.Kind) {
+      case Mandate.Kinds.MOVE_TO:
+        final MoveTo mtc = (MoveTo) cmd;
+        out.putFloat(mtc.StartX).putFloat(mtc.StartY).putFloat(mtc.EndX).putFloat(mtc.EndY);
+        break;
+
+      case Mandate.Kinds.EXPIRABLE:
+        final Expirable ec = (Expirable) cmd;
+        out.putFloat(ec.Value).putFloat(ec.getExpiredAt()).putFloat(ec.getApplyTime());
+        break;
+
+      case Mandate.Kinds.MODIFIER:
+        out.putFloat(((Modifier) cmd).Value);
+        break;
+
+      default:
+        break;
+    }
+  }
+
+  /** Read pooled command from binary snapshot, written by {@link #write(ByteBuffer, Mandate)}. */
+  public static Mandate read(final ByteBuffer in) {
+    final Pools pools = sPools.get();
+    final int kind = in.get();
+    final String name = readName(in);
+    final float timestamp = in.getFloat();
+    final Mandate cmd;
+
+    switch (kind) {
+      case Mandate.Kinds.MOVE_TO:
+        cmd = pools.Moves.obtain().set(in.getFloat(), in.getFloat(), in.getFloat(), in.getFloat());
+        break;
+
+      case Mandate.Kinds.EXPIRABLE:
+        final Expirable ec = pools.Expirables.obtain().set(name, in.getFloat(), in.getFloat());
+        ec.apply(in.getFloat());
+        cmd = ec;
+        break;
+
+      case Mandate.Kinds.MODIFIER:
+        cmd = pools.Modifiers.obtain().set(name, in.getFloat());
+        break;
+
+      case Mandate.Kinds.EVENT:
+        cmd = pools.Events.obtain().set(name);
+        break;
+
+      default:
+        throw new IllegalArgumentException("Unknown kind of command: " + kind);
+    }
+
+    cmd.Timestamp = timestamp;
+    return cmd;
+  }
+
+  /** Return consumed command to the pool. Command should not be used after the call. */
+  public static void free(final Mandate cmd) {
+    final Pools pools = sPools.get();
+
+    switch (cmd.Kind) {
+      case Mandate.Kinds.MOVE_TO:
+        pools.Moves.free((MoveTo) cmd);
+        break;
+
+      case Mandate.Kinds.EXPIRABLE:
+        pools.Expirables.free((Expirable) cmd);
+        break;
+
+      case Mandate.Kinds.MODIFIER:
+        pools.Modifiers.free((Modifier) cmd);
+        break;
+
+      default:
+        pools.Events.free((Event) cmd);
+        break;
+    }
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  private static void writeName(final ByteBuffer out, final String name) {
+    for (int i = 0; i < KNOWN_NAMES.length; i++) {
+      if (KNOWN_NAMES[i].equals(name)) {
+        out.put((byte) i);
+        return;
+      }
+    }
+
+    out.put(UNKNOWN_NAME);
+    out.putShort((short) name.length());
+
+    for (int i = 0, len = name.length(); i < len; i++) {
+      out.putChar(name.charAt(i));
+    }
+  }
+
+  private static String readName(final ByteBuffer in) {
+    final byte index = in.get();
+
+    if (UNKNOWN_NAME != index) {
+      return KNOWN_NAMES[index];
+    }
+
+    final char[] chars = new char[in.getShort()];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = in.getChar();
+    }
+
+    return new String(chars);
+  }
+
+	/* [ NESTED DECLARATIONS ] =============================================================================================================================== */
+
+  /** Set of pools owned by one thread. */
+  private static final class Pools {
+    /** Pool of modifiers. */
+    final Pool<Modifier> Modifiers = new Pool<Modifier>() {
+      @Override
+      protected Modifier newObject() {
+        return new Modifier();
+      }
+    };
+
+    /** Pool of expirable modifiers. */
+    final Pool<Expirable> Expirables = new Pool<Expirable>() {
+      @Override
+      protected Expirable newObject() {
+        return new Expirable();
+      }
+    };
+
+    /** Pool of events. */
+    final Pool<Event> Events = new Pool<Event>() {
+      @Override
+      protected Event newObject() {
+        return new Event();
+      }
+    };
+
+    /** Pool of movement commands. */
+    final Pool<MoveTo> Moves = new Pool<MoveTo>() {
+      @Override
+      protected MoveTo newObject() {
+        return new MoveTo();
+      }
+    };
+  }
 }
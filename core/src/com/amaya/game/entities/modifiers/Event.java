@@ -4,13 +4,25 @@ package com.amaya.game.entities.modifiers;
 public class Event extends Mandate {
   /* [ CONSTRUCTORS ] ====================================================================================================================================== */
 
+  /** Hidden constructor. Used by pools, instance initialized later. */
+  protected Event() {
+    super(Kinds.EVENT);
+  }
+
   /**
    * Instantiates a new Command.
    *
    * @param name the name of the event
    */
   protected Event(final String name) {
-    super(name);
+    super(Kinds.EVENT, name);
+  }
+
+  /** (Re)initialize the instance. */
+  protected Event set(final String name) {
+    setName(name);
+
+    return this;
   }
 
 	/* [ OVERRIDES ] ========================================================================================================================================= */
@@ -5,21 +5,42 @@ public class Expirable extends Modifier {
   /* [ MEMBERS ] =========================================================================================================================================== */
 
   /** Command expiring time. game time units. */
-  protected final float mExpiredAt;
+  protected float mExpiredAt;
   /** Game time when command first applied. */
   protected float mApplyTime;
 
 	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
 
+  /** Hidden constructor. Used by pools, instance initialized later. */
+  protected Expirable() {
+    super(Kinds.EXPIRABLE);
+  }
+
   protected Expirable(final String name, final float value, final float seconds) {
-    super(name, value);
+    this();
+    set(name, value, seconds);
+  }
+
+  /** (Re)initialize the instance. */
+  protected Expirable set(final String name, final float value, final float seconds) {
+    set(name, value);
 
-    // convert seconds to millis
     mExpiredAt = seconds;
+    mApplyTime = 0;
+
+    return this;
   }
 
   /* [ OVERRIDES ] ========================================================================================================================================= */
 
+  /** {@inheritDoc} */
+  @Override
+  public void reset() {
+    super.reset();
+    mExpiredAt = 0;
+    mApplyTime = 0;
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
@@ -33,7 +54,7 @@ public class Expirable extends Modifier {
 
   /** is Command expired and should rollback own modifications. */
   public boolean isExpired(final float gameTime) {
-    return (mApplyTime + mExpiredAt) < gameTime;
+    return getExpireTime() < gameTime;
   }
 
   public float getExpiredAt() {
@@ -43,4 +64,14 @@ public class Expirable extends Modifier {
   public float getApplyTime() {
     return mApplyTime;
   }
+
+  /** Game time when command expires. */
+  public float getExpireTime() {
+    return mApplyTime + mExpiredAt;
+  }
+
+  /** Command applied, start counting own life time. */
+  public void apply(final float gameTime) {
+    mApplyTime = gameTime;
+  }
 }
@@ -1,28 +1,61 @@
 package com.amaya.game.entities.modifiers;
 
-import java.util.Collection;
-import java.util.Iterator;
+import com.badlogic.gdx.utils.Pool;
 
-/** Base class. Change mandate/request. */
-public abstract class Mandate {
+import java.util.List;
+
+/**
+ * Base class. Change mandate/request.
+ * <p>
+ * Instances are pooled by {@link CommandsFactory}, so fields are not final. Treat them as read-only, and return the
+ * mandate to {@link CommandsFactory#free(Mandate)} once it is consumed.
+ * </p>
+ */
+public abstract class Mandate implements Pool.Poolable {
   /* [ MEMBERS ] =========================================================================================================================================== */
 
+  /** Kind of the mandate, one of the {@link Kinds}. Allows dispatch without instanceof checks and reflection. */
+  public final int Kind;
   /** field or event name. */
-  public final String Name;
+  public String Name;
   /** Time of command creation. */
-  public final float Timestamp = System.currentTimeMillis();
+  public float Timestamp;
 
 	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
 
+  /** Hidden constructor. Used by pools, instance initialized later. */
+  protected Mandate(final int kind) {
+    Kind = kind;
+  }
+
   /**
    * Hidden constructor. use static methods for instance creation.
    *
+   * @param kind the kind of the mandate
    * @param name the name of the field or event
    */
-  protected Mandate(final String name) {
+  protected Mandate(final int kind, final String name) {
+    this(kind);
+    setName(name);
+  }
+
+  /** (Re)initialize the instance. */
+  protected void setName(final String name) {
     Name = name;
+    Timestamp = System.currentTimeMillis();
   }
 
+  /* [ Interface Poolable ] ================================================================================================================================ */
+
+  /** {@inheritDoc} */
+  @Override
+  public void reset() {
+    Name = null;
+    Timestamp = 0;
+  }
+
+  /* [ OVERRIDES ] ========================================================================================================================================= */
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
@@ -31,18 +64,32 @@ public abstract class Mandate {
 
   /* [ STATIC METHODS ] ==================================================================================================================================== */
 
-  /** find in commands collection first item of defined type. */
-  public static <T extends Mandate> T findFirst(final Collection<Mandate> mandates, final Class<T> clazz) {
-    final Iterator<Mandate> iterator = mandates.iterator();
-
-    while (iterator.hasNext()) {
-      final Mandate cmd = iterator.next();
+  /** find in commands list first item of defined kind. */
+  public static <T extends Mandate> T findFirst(final List<Mandate> mandates, final int kind) {
+    for (int i = 0, len = mandates.size(); i < len; i++) {
+      final Mandate cmd = mandates.get(i);
 
-      if (clazz.isAssignableFrom(cmd.getClass())) {
+      if (kind == cmd.Kind) {
         return (T) cmd;
       }
     }
 
     return null;
+  }
+
+	/* [ NESTED DECLARATIONS ] =============================================================================================================================== */
+
+  /** Syntax hack. Known kinds of mandates, values are dense and can be used as array indexes. */
+  public interface Kinds {
+    /** {@link MoveTo} command. */
+    int MOVE_TO = 0;
+    /** {@link Modifier} of the field. */
+    int MODIFIER = 1;
+    /** {@link Expirable} modifier of the field. */
+    int EXPIRABLE = 2;
+    /** {@link Event}. */
+    int EVENT = 3;
+    /** Quantity of known kinds. */
+    int COUNT = 4;
   }
 }
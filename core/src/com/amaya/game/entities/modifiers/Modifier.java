@@ -5,10 +5,20 @@ public class Modifier extends Mandate {
   /* [ MEMBERS ] =========================================================================================================================================== */
 
   /** field or event value delta/change step. */
-  public final float Value;
+  public float Value;
 
 	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
 
+  /** Hidden constructor. Used by pools, instance initialized later. */
+  protected Modifier() {
+    this(Kinds.MODIFIER);
+  }
+
+  /** Hidden constructor. Used by inheritors for defining own kind. */
+  protected Modifier(final int kind) {
+    super(kind);
+  }
+
   /**
    * Hidden constructor. use static methods for instance creation.
    *
@@ -16,13 +26,27 @@ public class Modifier extends Mandate {
    * @param value the value change delta
    */
   protected Modifier(final String name, final float value) {
-    super(name);
+    this(Kinds.MODIFIER);
+    set(name, value);
+  }
 
+  /** (Re)initialize the instance. */
+  protected Modifier set(final String name, final float value) {
+    setName(name);
     this.Value = value;
+
+    return this;
   }
 
 	/* [ OVERRIDES ] ========================================================================================================================================= */
 
+  /** {@inheritDoc} */
+  @Override
+  public void reset() {
+    super.reset();
+    Value = 0;
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
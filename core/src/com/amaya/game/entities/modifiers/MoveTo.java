@@ -10,19 +10,30 @@ public class MoveTo extends Mandate {
   /* [ MEMBERS ] =========================================================================================================================================== */
 
   /** start point x-coordinate */
-  public final float StartX;
+  public float StartX;
   /** start point y-coordinate */
-  public final float StartY;
+  public float StartY;
   /** end point x-coordinate */
-  public final float EndX;
+  public float EndX;
   /** end point y-coordinate */
-  public final float EndY;
+  public float EndY;
 
 	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
 
+  /** Hidden constructor. Used by pools, instance initialized later. */
+  protected MoveTo() {
+    super(Kinds.MOVE_TO);
+  }
+
   /** hidden constructor. Use static methods for getting instance. */
   protected MoveTo(float x, float y, float x1, float y1) {
-    super(Fish.Fields.POSITION);
+    this();
+    set(x, y, x1, y1);
+  }
+
+  /** (Re)initialize the instance. */
+  protected MoveTo set(float x, float y, float x1, float y1) {
+    setName(Fish.Fields.POSITION);
 
     StartX = x;
     StartY = y;
@@ -31,6 +42,15 @@ public class MoveTo extends Mandate {
 
     if (Spacefish.Debug.MOVE_COMMANDS)
       Gdx.app.log(Spacefish.LOG_TAG, "[move-to] start: " + getStart() + ", end: " + getEnd());
+
+    return this;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void reset() {
+    super.reset();
+    StartX = StartY = EndX = EndY = 0;
   }
 
   /** {@inheritDoc} */
@@ -43,12 +63,12 @@ public class MoveTo extends Mandate {
 
 	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
 
-  /** Get end point as Vector2. */
+  /** Get end point as new Vector2 instance. Allocates, in hot paths read {@link #EndX}/{@link #EndY} directly. */
   public Vector2 getEnd() {
     return new Vector2(EndX, EndY);
   }
 
-  /** Get start point as Vector2. */
+  /** Get start point as new Vector2 instance. Allocates, in hot paths read {@link #StartX}/{@link #StartY} directly. */
   public Vector2 getStart() {
     return new Vector2(StartX, StartY);
   }
@@ -1,14 +1,17 @@
 package com.amaya.game.screens;
 
+import com.amaya.game.FrameStats;
 import com.amaya.game.GameResources;
 import com.amaya.game.LibGdxFactory;
 import com.amaya.game.Spacefish;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.ScreenAdapter;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
@@ -23,6 +26,10 @@ public class BaseScreen extends ScreenAdapter {
 
   /** Logging tag. */
   public static final String TAG = Spacefish.LOG_TAG;
+  /** Width of the loading progress bar, fraction of the screen width. */
+  private static final float LOADING_BAR_WIDTH = 0.6f;
+  /** Height of the loading progress bar, virtual pixels. */
+  private static final float LOADING_BAR_HEIGHT = 16f;
 
 	/* [ MEMBERS ] =========================================================================================================================================== */
 
@@ -34,6 +41,10 @@ public class BaseScreen extends ScreenAdapter {
   protected Rectangle mViewport;
   /** Scale factor of the screen. */
   protected float mScale = 1f;
+  /** true - screen assets are loaded and {@link #onAssetsReady()} is called after last show. */
+  private boolean mReady;
+  /** true - screen is redrawn on each vsync, false - only on input, resize or {@link #requestFrame()}. */
+  private boolean mContinuous = true;
 
 	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
 
@@ -49,6 +60,24 @@ public class BaseScreen extends ScreenAdapter {
     return mGame;
   }
 
+  /** Is screen assets loaded. Subclasses should skip own rendering and logic till the screen is ready. */
+  public boolean isReady() {
+    return mReady;
+  }
+
+  /**
+   * Does screen change without user input. Static screens are drawn only on input, resize or {@link #requestFrame()},
+   * which keeps CPU and GPU idle while nothing changes. Default implementation: false.
+   */
+  protected boolean isAnimated() {
+    return false;
+  }
+
+  /** Assets group required by the screen, one of the {@link GameResources.Groups}. */
+  protected int getAssetsGroup() {
+    return GameResources.Groups.MENU;
+  }
+
 	/* [ Interface Screen ] ================================================================================================================================== */
 
   /** {@inheritDoc} */
@@ -78,6 +107,21 @@ public class BaseScreen extends ScreenAdapter {
 
     if (Spacefish.Debug.ENVIRONMENT)
       Gdx.app.log(TAG, "aspect ration: " + aspectRatio);
+
+    requestFrame();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void show() {
+    super.show();
+
+    // assets dependent initialization is done on first frame
+    mReady = false;
+
+    // previous screen could leave rendering event-driven, loading frame is animated till the assets are ready
+    mContinuous = true;
+    Gdx.graphics.setContinuousRendering(true);
   }
 
   /** {@inheritDoc} */
@@ -85,23 +129,35 @@ public class BaseScreen extends ScreenAdapter {
   public void render(final float delta) {
     super.render(delta);
 
+    // continue assets streaming, show loading frame till own group is ready
+    if (!GameResources.getInstance().update(getAssetsGroup())) {
+      drawLoading();
+      return;
+    }
+
+    if (!mReady) {
+      mReady = true;
+      onAssetsReady();
+    }
+
     // process user input
     if (Gdx.input.justTouched() || Gdx.input.isKeyJustPressed(Input.Keys.BACK)) {
       touched();
     }
 
-    // cleanup the screen
-    Gdx.gl.glClearColor(0, 0, 0, 1);
-    Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+    // input can start or stop the animation, background streaming needs frames too
+    setContinuous(Spacefish.Debug.CONTINUOUS_RENDERING || isAnimated() ||
+            !GameResources.getInstance().isLoaded(GameResources.Groups.COUNT - 1));
 
-    // adjust aspect ratio
-    Gdx.gl.glViewport((int) mViewport.x, (int) mViewport.y, (int) mViewport.width, (int) mViewport.height);
+    final FrameStats stats = getGame().getStats();
+    stats.begin(FrameStats.Phases.GL_SETUP);
 
-    // say that our rendering should be scaled to current screen resolution
-    mUiCamera.update();
+    setupGl();
 
     final SpriteBatch batch = getGame().getBatch();
     batch.setProjectionMatrix(mUiCamera.combined);
+
+    stats.end(FrameStats.Phases.GL_SETUP);
   }
 
   /**
@@ -120,6 +176,75 @@ public class BaseScreen extends ScreenAdapter {
 
 	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
 
+  /**
+   * Called on the first frame after {@link #show()} when screen assets are loaded. Place for assets dependent
+   * initialization, like music playing. Default implementation re-calculates layout.
+   */
+  protected void onAssetsReady() {
+    resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+  }
+
+  /** Draw one more frame of the static screen, e.g. after the change not caused by input. */
+  protected void requestFrame() {
+    Gdx.graphics.requestRendering();
+  }
+
+  /**
+   * Called on the first continuous frame after the screen was static. Time between the frames was not rendered,
+   * animations should not catch it up.
+   */
+  protected void onRenderingResumed() {
+    // do nothing
+  }
+
+  /** Switch between continuous and event-driven rendering. */
+  private void setContinuous(final boolean continuous) {
+    if (mContinuous == continuous)
+      return;
+
+    mContinuous = continuous;
+    Gdx.graphics.setContinuousRendering(continuous);
+
+    if (continuous) {
+      onRenderingResumed();
+    }
+  }
+
+  /** Clear the screen, adjust viewport and camera. */
+  private void setupGl() {
+    // cleanup the screen
+    Gdx.gl.glClearColor(0, 0, 0, 1);
+    Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+    // adjust aspect ratio
+    Gdx.gl.glViewport((int) mViewport.x, (int) mViewport.y, (int) mViewport.width, (int) mViewport.height);
+
+    // say that our rendering should be scaled to current screen resolution
+    mUiCamera.update();
+  }
+
+  /** Draw loading frame: progress bar of the assets loading. Does not depend on any loaded asset. */
+  protected void drawLoading() {
+    setupGl();
+
+    final float progress = GameResources.getInstance().getProgress();
+    final float x = VIRTUAL_SCREEN_WIDTH * (1f - LOADING_BAR_WIDTH) / 2f;
+    final float y = (VIRTUAL_SCREEN_HEIGHT - LOADING_BAR_HEIGHT) / 2f;
+    final float width = VIRTUAL_SCREEN_WIDTH * LOADING_BAR_WIDTH;
+
+    final ShapeRenderer shapes = getGame().getDebugShapes();
+    shapes.setProjectionMatrix(mUiCamera.combined);
+
+    shapes.begin(ShapeRenderer.ShapeType.Filled);
+    shapes.setColor(Color.WHITE);
+    shapes.rect(x, y, width * progress, LOADING_BAR_HEIGHT);
+    shapes.end();
+
+    shapes.begin(ShapeRenderer.ShapeType.Line);
+    shapes.rect(x, y, width, LOADING_BAR_HEIGHT);
+    shapes.end();
+  }
+
   protected void drawBackground(final SpriteBatch batch) {
     // draw background, z-order: 0
     batch.disableBlending();
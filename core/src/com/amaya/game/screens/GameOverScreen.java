@@ -24,6 +24,9 @@ public class GameOverScreen extends BaseScreen {
   public void render(final float delta) {
     super.render(delta);
 
+    if (!isReady())
+      return;
+
     final BitmapFont font = GameResources.getInstance().getFont();
     font.setColor(1.0f, 1.0f, 1.0f, 1.0f);
 
@@ -56,8 +59,14 @@ public class GameOverScreen extends BaseScreen {
 
   /** {@inheritDoc} */
   @Override
-  public void show() {
-    super.show();
+  protected int getAssetsGroup() {
+    return GameResources.Groups.LEVEL;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected void onAssetsReady() {
+    super.onAssetsReady();
 
     // stop playing the game background music
     GameResources.getInstance().getBackgroundMusic().stop();
@@ -69,6 +78,9 @@ public class GameOverScreen extends BaseScreen {
   public void hide() {
     super.hide();
 
+    if (!isReady())
+      return;
+
     // stop playing the game background music
     GameResources.getInstance().getBackgroundMusic().stop();
     GameResources.getInstance().getGameOver().stop();
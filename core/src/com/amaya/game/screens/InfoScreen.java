@@ -30,6 +30,9 @@ public class InfoScreen extends BaseScreen {
   public void render(final float delta) {
     super.render(delta);
 
+    if (!isReady())
+      return;
+
     final SpriteBatch batch = getGame().getBatch();
     batch.begin();
 
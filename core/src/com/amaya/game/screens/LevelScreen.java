@@ -1,17 +1,26 @@
 package com.amaya.game.screens;
 
+import com.amaya.game.DeferredEvents;
+import com.amaya.game.FixedStep;
+import com.amaya.game.FrameStats;
 import com.amaya.game.GameController;
+import com.amaya.game.GameSnapshot;
 import com.amaya.game.GameRenderer;
 import com.amaya.game.GameResources;
+import com.amaya.game.HudRenderer;
+import com.amaya.game.RenderSnapshot;
+import com.amaya.game.SimulationPipeline;
 import com.amaya.game.Spacefish;
-import com.amaya.game.entities.Fish;
 import com.amaya.game.entities.Level;
 import com.amaya.game.entities.controls.Button;
 import com.amaya.game.entities.controls.ToggleButton;
+import com.amaya.game.simulation.ReplayLog;
+import com.amaya.game.simulation.ReplayRecorder;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector3;
 
 import java.util.ArrayList;
@@ -21,14 +30,54 @@ import static com.amaya.game.Spacefish.Dimensions;
 
 /** show specific game level. Game field. */
 public class LevelScreen extends BaseScreen {
-  /* [ MEMBERS ] =========================================================================================================================================== */
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Frame stats dump file, in application local storage. */
+  public static final String STATS_FILE = "frame-stats.csv";
+  /** Refresh rate of the frame stats overlay, in frames. */
+  private static final int OVERLAY_REFRESH = 30;
+
+	/* [ MEMBERS ]  =========================================================================================================================================== */
 
   /** Reference on game renderer. */
   private final GameRenderer mRenderer;
+  /** Scores of the level. */
+  private final HudRenderer mHud = new HudRenderer();
   /** Reference on game controller. */
   private final GameController mController;
+  /** Snapshot of the paused level. */
+  private final GameSnapshot mSnapshot = new GameSnapshot();
+  /** Simulation on the worker thread, NULL - simulation runs on the render thread. */
+  private final SimulationPipeline mPipeline;
+  /** Side effects of the worker thread simulation, delivered on the render thread. */
+  private final DeferredEvents mEvents;
+  /** Rendered frame of the render thread simulation. */
+  private final RenderSnapshot mFrame = new RenderSnapshot();
+  /** Fixed simulation step accumulator. */
+  private final FixedStep mStep = new FixedStep(Spacefish.Simulation.TICK_RATE, Spacefish.Simulation.MAX_CATCH_UP_STEPS);
+  /** Recorder of the level touches. */
+  private final ReplayRecorder mReplay = new ReplayRecorder();
   /** List of UI elements. */
   private final List<Button> mButtons = new ArrayList<Button>();
+  /** Is frame stats overlay visible. */
+  private boolean mOverlay = Spacefish.Debug.FRAME_STATS;
+  /** Cached lines of the frame stats overlay. */
+  private final String[] mOverlayLines = new String[FrameStats.Phases.COUNT];
+  /** Frames left till the next overlay refresh. */
+  private int mOverlayCountdown;
+  /** true - screen was static till this frame, its delta is not a game time. */
+  private boolean mResumed;
+  /** Touch point of the controller. */
+  private final Vector3 mTouch = new Vector3();
+  /** Is the last touch accepted by the controller. */
+  private boolean mTouchAccepted;
+  /** Touch of the controller, runs on the simulation thread. */
+  private final Runnable mTouchTask = new Runnable() {
+    @Override
+    public void run() {
+      mTouchAccepted = mController.touched(mTouch);
+    }
+  };
 
 	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
 
@@ -37,7 +86,19 @@ public class LevelScreen extends BaseScreen {
 
     initializeButtons();
 
-    mController = new GameController(game, level);
+    if (Spacefish.isThreaded()) {
+      mEvents = new DeferredEvents(game);
+      mController = new GameController(game, level, mEvents);
+      mPipeline = new SimulationPipeline(mController, mStep.getTick());
+      mPipeline.setStats(game.getStats());
+
+      level.Drops.setParallel(game.getWorkers());
+    } else {
+      mEvents = null;
+      mController = new GameController(game, level);
+      mPipeline = null;
+    }
+
     mRenderer = new GameRenderer(mController);
   }
 
@@ -76,9 +137,16 @@ public class LevelScreen extends BaseScreen {
     });
   }
 
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  /** Controller of the level. */
+  public GameController getController() {
+    return mController;
+  }
+
 	/* [ STATIC METHODS ] ==================================================================================================================================== */
 
-  public static Texture resolve(final Button btn) {
+  public static TextureRegion resolve(final Button btn) {
     if (LevelScreen.Actions.BACK.equals(btn.getTag()))
       return GameResources.getInstance().getBack();
 
@@ -96,29 +164,107 @@ public class LevelScreen extends BaseScreen {
   /** {@inheritDoc} */
   @Override
   public void render(final float delta) {
+    final FrameStats stats = getGame().getStats();
+    stats.begin(FrameStats.Phases.FRAME);
+
     // do call for super for initial setup of GL graphics
     super.render(delta);
 
-    // recalculate layout of the entities
-    mController.update(delta);
+    if (!isReady()) {
+      stats.end(FrameStats.Phases.FRAME);
+      return;
+    }
+
+    if (Gdx.input.isKeyJustPressed(Input.Keys.MENU)) {
+      toggleOverlay();
+    }
+
+    // recalculate layout of the entities by fixed steps, frame rate does not affect the game play
+    final RenderSnapshot frame;
+    final float elapsed = mResumed ? 0 : delta;
+    mResumed = false;
+
+    if (null != mPipeline && isAnimated()) {
+      // ticks of this frame are computed by the worker while the last completed ones are drawn
+      frame = mPipeline.submit(mStep.advance(elapsed));
+    } else {
+      // static frame stays on screen till the next input, it should show the current state, e.g. pause
+      syncSimulation();
+
+      final int steps = mStep.advance(elapsed);
+
+      // worker simulation is static only on pause, paused controller ignores ticks
+      if (null == mPipeline) {
+        for (int i = 0; i < steps; i++) {
+          mController.update(mStep.getTick());
+        }
+      }
+
+      mFrame.capture(mController);
+      frame = mFrame;
+    }
 
     // do updates in batch
     final SpriteBatch batch = getGame().getBatch();
     batch.begin();
 
     drawBackground(batch);
-    drawScores(batch);
+    mHud.render(batch, frame);
     drawControls(batch);
 
-    mRenderer.render(batch);
+    stats.begin(FrameStats.Phases.RENDER);
+    mRenderer.render(batch, frame, mStep.getAlpha());
+    stats.end(FrameStats.Phases.RENDER);
+
+    if (mOverlay) {
+      drawOverlay(batch, stats);
+    }
 
     batch.end();
+
+    // sounds and navigation raised by the worker
+    if (null != mEvents) {
+      mEvents.dispatch();
+    }
+
+    stats.end(FrameStats.Phases.FRAME);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected boolean isAnimated() {
+    // only the render thread pauses the game, worker can only finish it
+    return GameController.KnownStates.PAUSED != mController.getState();
   }
 
   /** {@inheritDoc} */
   @Override
-  public void show() {
-    super.show();
+  protected void onRenderingResumed() {
+    mResumed = true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected int getAssetsGroup() {
+    return GameResources.Groups.LEVEL;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected void onAssetsReady() {
+    super.onAssetsReady();
+
+    // time spent out of the screen is not a game time
+    mStep.reset();
+
+    if (null != mPipeline) {
+      mPipeline.start();
+    }
+
+    // record only sessions played from the start, restored level cannot be replayed
+    if (Spacefish.Debug.REPLAY_RECORD && !mReplay.isRecording() && 0 == mController.getGameTime()) {
+      mReplay.start(mController.getCurrentLevel(), mStep.getTick(), Gdx.files.local(ReplayLog.FILE));
+    }
 
     // start background music playing
     GameResources.getInstance().getGameOver().stop();
@@ -130,9 +276,25 @@ public class LevelScreen extends BaseScreen {
   public void hide() {
     super.hide();
 
-    // start background music playing
-    GameResources.getInstance().getGameOver().stop();
-    GameResources.getInstance().getBackgroundMusic().stop();
+    // controller belongs to the render thread again
+    if (null != mPipeline) {
+      mPipeline.stop();
+    }
+
+    // stop background music playing
+    if (isReady()) {
+      GameResources.getInstance().getGameOver().stop();
+      GameResources.getInstance().getBackgroundMusic().stop();
+    }
+
+    mReplay.stop();
+
+    // keep timing of the level session for offline analysis
+    final FrameStats stats = getGame().getStats();
+    if (stats.isEnabled()) {
+      stats.dump(Gdx.files.local(STATS_FILE));
+      Gdx.app.log(TAG, "[stats] frame timing dumped to: " + STATS_FILE);
+    }
   }
 
   /** {@inheritDoc} */
@@ -140,6 +302,9 @@ public class LevelScreen extends BaseScreen {
   public boolean touched() {
     boolean processed;
 
+    // UI controls and touches change the controller state
+    syncSimulation();
+
     // give super class chance to process BACK button
     if (!(processed = super.touched())) {
       final Vector3 touch = unprojectTouch();
@@ -164,7 +329,11 @@ public class LevelScreen extends BaseScreen {
           Gdx.app.log(TAG, "[click] delegated to controller.");
 
         // redirect touch to Game engine
-        processed = mController.touched(unprojectTouch());
+        final Vector3 point = unprojectTouch();
+
+        if ((processed = touchController(point))) {
+          mReplay.record(mController.getGameTime(), point.x, point.y);
+        }
       }
     }
 
@@ -177,8 +346,15 @@ public class LevelScreen extends BaseScreen {
     super.resize(width, height);
 
     // say controller to update all layouts
+    syncSimulation();
     mController.resize(width, height);
-    mController.update(Gdx.graphics.getDeltaTime());
+
+    // tick processes commands, it belongs to the simulation thread
+    if (null != mPipeline && mPipeline.isRunning()) {
+      mPipeline.submit(1);
+    } else {
+      mController.update(mStep.getTick());
+    }
   }
 
   /** {@inheritDoc} */
@@ -186,17 +362,44 @@ public class LevelScreen extends BaseScreen {
   public void pause() {
     super.pause();
 
+    syncSimulation();
     mController.setState(GameController.KnownStates.PAUSED);
+    mReplay.flush();
+
+    // process can be killed in background, keep the level
+    mSnapshot.save(mController, Gdx.files.local(GameSnapshot.FILE));
   }
 
   /** {@inheritDoc} */
   @Override
   public void resume() {
     super.resume();
+
+    // live objects are still here, snapshot is not needed
+    Gdx.files.local(GameSnapshot.FILE).delete();
   }
 
 	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
 
+  /** Wait for the running simulation batch, controller can be accessed by the render thread after the call. */
+  private void syncSimulation() {
+    if (null != mPipeline) {
+      mPipeline.sync();
+    }
+  }
+
+  /** Pass touch to the controller on the thread that owns the commands. */
+  private boolean touchController(final Vector3 point) {
+    if (null == mPipeline) {
+      return mController.touched(point);
+    }
+
+    mTouch.set(point);
+    mPipeline.execute(mTouchTask);
+
+    return mTouchAccepted;
+  }
+
   private void drawControls(final SpriteBatch batch) {
     for (Button btn : mButtons) {
       batch.draw(resolve(btn), btn.Bounds.x, btn.Bounds.y, btn.Bounds.width, btn.Bounds.height);
@@ -205,24 +408,38 @@ public class LevelScreen extends BaseScreen {
     }
   }
 
-  private void drawScores(final SpriteBatch batch) {
-    final BitmapFont font = GameResources.getInstance().getFont();
+  /** Show/hide frame stats overlay. Recording starts with the first overlay showing. */
+  private void toggleOverlay() {
+    mOverlay = !mOverlay;
+    mOverlayCountdown = 0;
 
-    batch.enableBlending();
-    font.setColor(1.0f, 1.0f, 1.0f, 1.0f);
+    if (mOverlay) {
+      getGame().getStats().setEnabled(true);
+    }
+  }
 
-    final Fish fish = mController.getGame().getFish();
+  /** Draw percentiles of the frame phases: p50, p95, p99 in milliseconds. */
+  private void drawOverlay(final SpriteBatch batch, final FrameStats stats) {
+    // percentiles calculation sorts the buffers, do it only few times per second
+    if (--mOverlayCountdown <= 0) {
+      mOverlayCountdown = OVERLAY_REFRESH;
 
-    final String points = String.valueOf(fish.getPoints());
-    final BitmapFont.TextBounds bounds = font.getBounds(points);
+      for (int phase = 0; phase < FrameStats.Phases.COUNT; phase++) {
+        mOverlayLines[phase] = stats.summary(phase);
+      }
+    }
 
-    final float x = Dimensions.VIRTUAL_SCREEN_WIDTH - Dimensions.ICON_PADDING - bounds.width;
-    final float y = Dimensions.VIRTUAL_SCREEN_HEIGHT - bounds.height;
-    font.draw(batch, points, x, y);
+    final BitmapFont font = GameResources.getInstance().getFont();
+    final float lineHeight = font.getLineHeight();
+    float y = Dimensions.VIRTUAL_SCREEN_HEIGHT - Dimensions.ICON_PADDING * 2 - Dimensions.ICON_HEIGHT;
+
+    batch.enableBlending();
+    font.setColor(1.0f, 1.0f, 0.0f, 1.0f);
 
-    final String speed = "x" + fish.getSpeed();
-    final BitmapFont.TextBounds bounds1 = font.getBounds(speed);
-    font.draw(batch, speed, x - bounds1.width - Dimensions.ICON_PADDING, y);
+    for (String line : mOverlayLines) {
+      font.draw(batch, line, Dimensions.ICON_PADDING, y);
+      y -= lineHeight;
+    }
   }
 
 	/* [ NESTED DECLARATIONS ] =============================================================================================================================== */
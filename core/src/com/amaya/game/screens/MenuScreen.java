@@ -58,6 +58,9 @@ public class MenuScreen extends BaseScreen {
   public void render(final float delta) {
     super.render(delta);
 
+    if (!isReady())
+      return;
+
     // do rendering in BATCH
     final SpriteBatch batch = getGame().getBatch();
     batch.begin();
@@ -73,6 +76,10 @@ public class MenuScreen extends BaseScreen {
   public void resize(final int width, final int height) {
     super.resize(width, height);
 
+    // layout depends on font, re-calculated when assets are ready
+    if (!isReady())
+      return;
+
     final BitmapFont font = GameResources.getInstance().getFont();
 
     // calculate TEXT bounds, and total occupied space
@@ -95,8 +102,16 @@ public class MenuScreen extends BaseScreen {
 
   /** {@inheritDoc} */
   @Override
-  public void show() {
-    super.show();
+  protected void onAssetsReady() {
+    super.onAssetsReady();
+
+    // level killed in background, continue it
+    if (getGame().navigateToSavedLevel())
+      return;
+
+    // level assets could be still loading
+    if (!GameResources.getInstance().isLoaded(GameResources.Groups.LEVEL))
+      return;
 
     // stop playing the game background music
     GameResources.getInstance().getBackgroundMusic().stop();
@@ -0,0 +1,112 @@
+package com.amaya.game.simulation;
+
+import java.util.Collections;
+import java.util.List;
+
+/** Aggregated outcome of the simulation farm run. */
+public class FarmResult {
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Results of each session, in order of the level configurations. */
+  public final List<SimulationResult> Sessions;
+  /** Wall clock time of the whole run, in nanoseconds. */
+  public final long WallTime;
+  /** Quantity of worker threads. */
+  public final int Threads;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  public FarmResult(final List<SimulationResult> sessions, final long wallTime, final int threads) {
+    Sessions = Collections.unmodifiableList(sessions);
+    WallTime = wallTime;
+    Threads = threads;
+  }
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  /** Sum of collected points of all sessions. */
+  public long getTotalPoints() {
+    long points = 0;
+
+    for (SimulationResult result : Sessions) {
+      points += result.Points;
+    }
+
+    return points;
+  }
+
+  /** Average collected points per session. */
+  public double getAveragePoints() {
+    return Sessions.isEmpty() ? 0 : (double) getTotalPoints() / Sessions.size();
+  }
+
+  /** Quantity of sessions in which the fish survived. */
+  public int getSurvived() {
+    int survived = 0;
+
+    for (SimulationResult result : Sessions) {
+      if (result.isSurvived()) {
+        survived++;
+      }
+    }
+
+    return survived;
+  }
+
+  /** Part of sessions in which the fish survived, [0..1]. */
+  public double getSurvivalRate() {
+    return Sessions.isEmpty() ? 0 : (double) getSurvived() / Sessions.size();
+  }
+
+  /** Average simulated game time per session, in seconds. Equals to survival time for the lost sessions. */
+  public double getAverageGameTime() {
+    double time = 0;
+
+    for (SimulationResult result : Sessions) {
+      time += result.GameTime;
+    }
+
+    return Sessions.isEmpty() ? 0 : time / Sessions.size();
+  }
+
+  /** Sum of wall clock time spent by sessions, in nanoseconds. */
+  public long getSessionsWallTime() {
+    long time = 0;
+
+    for (SimulationResult result : Sessions) {
+      time += result.WallTime;
+    }
+
+    return time;
+  }
+
+  /** Longest session wall clock time, in nanoseconds. */
+  public long getMaxSessionWallTime() {
+    long time = 0;
+
+    for (SimulationResult result : Sessions) {
+      time = Math.max(time, result.WallTime);
+    }
+
+    return time;
+  }
+
+  /** Parallel speedup: sessions wall time per one farm wall time. Close to {@link #Threads} on ideal scaling. */
+  public double getParallelism() {
+    return (0 == WallTime) ? 0 : (double) getSessionsWallTime() / WallTime;
+  }
+
+	/* [ OVERRIDES ] ========================================================================================================================================= */
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "{sessions: " + Sessions.size() +
+            ", threads: " + Threads +
+            ", averagePoints: " + getAveragePoints() +
+            ", survivalRate: " + getSurvivalRate() +
+            ", averageGameTime: " + getAverageGameTime() +
+            ", wallTime: " + WallTime +
+            ", parallelism: " + getParallelism() + "}";
+  }
+}
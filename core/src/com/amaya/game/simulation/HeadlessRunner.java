@@ -0,0 +1,97 @@
+package com.amaya.game.simulation;
+
+import com.amaya.game.GameController;
+import com.amaya.game.IGameEvents;
+import com.amaya.game.Spacefish;
+import com.amaya.game.entities.Fish;
+import com.amaya.game.entities.Level;
+
+/**
+ * Drive the game controller with fixed time step without any screen, GL context or audio. Designed for level balancing
+ * and profiling: simulation runs as fast as CPU allows.
+ */
+public class HeadlessRunner {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Default simulation tick, 60 updates per game second. */
+  public static final float DEFAULT_TICK = 1.0f / Spacefish.Simulation.TICK_RATE;
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Simulated game. */
+  private final GameController mController;
+  /** Fixed simulation step in seconds. */
+  private final float mTick;
+  /** Player that interacts with the game field. */
+  private IPlayer mPlayer = IPlayer.NONE;
+  /** Quantity of executed ticks. */
+  private long mTicks;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  /** Simulate level with own fish instance, no side effects and default tick. */
+  public HeadlessRunner(final Level level) {
+    this(new GameController(new Fish(), level, IGameEvents.NONE), DEFAULT_TICK);
+  }
+
+  public HeadlessRunner(final GameController controller, final float tick) {
+    mController = controller;
+    mTick = tick;
+  }
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  /** Simulated game. */
+  public GameController getController() {
+    return mController;
+  }
+
+  /** Fixed simulation step in seconds. */
+  public float getTick() {
+    return mTick;
+  }
+
+  /** Quantity of executed ticks. */
+  public long getTicks() {
+    return mTicks;
+  }
+
+  public HeadlessRunner setPlayer(final IPlayer player) {
+    mPlayer = (null == player) ? IPlayer.NONE : player;
+    return this;
+  }
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /**
+   * Execute one simulation tick.
+   *
+   * @return true - game still in progress, otherwise false.
+   */
+  public boolean step() {
+    mPlayer.onTick(mController);
+    mController.update(mTick);
+    mTicks++;
+
+    return GameController.KnownStates.PLAY == mController.getState();
+  }
+
+  /**
+   * Run simulation till the end of the game, but not longer than specified game time.
+   *
+   * @param maxGameTime game time limit in seconds.
+   * @return results of the simulation.
+   */
+  public SimulationResult run(final float maxGameTime) {
+    final long started = System.nanoTime();
+
+    while (mController.getGameTime() < maxGameTime && step()) {
+      // simulation in progress
+    }
+
+    final long spent = System.nanoTime() - started;
+    final Fish fish = mController.getFish();
+
+    return new SimulationResult(fish.getPoints(), fish.getHealth(), mController.getGameTime(), mTicks, spent, mController.getState());
+  }
+}
@@ -0,0 +1,21 @@
+package com.amaya.game.simulation;
+
+import com.amaya.game.GameController;
+
+/** Player/bot abstraction. Gets a chance to touch the game field before each simulation tick. */
+public interface IPlayer {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** dummy instance for operations 'without NULL'. Player that never touches the screen. */
+  IPlayer NONE = new IPlayer() {
+    @Override
+    public void onTick(final GameController controller) {
+      // do nothing
+    }
+  };
+
+  /* [ API METHODS ] ======================================================================================================================================= */
+
+  /** Called before each simulation tick. Use {@link GameController#touched(com.badlogic.gdx.math.Vector3)} for moving the fish. */
+  void onTick(final GameController controller);
+}
@@ -0,0 +1,24 @@
+package com.amaya.game.simulation;
+
+/** Factory of players for simulation farm. Each session gets own player instance, players are not shared between threads. */
+public interface IPlayerFactory {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** dummy instance for operations 'without NULL'. All sessions run without player. */
+  IPlayerFactory NONE = new IPlayerFactory() {
+    @Override
+    public IPlayer create(final int session) {
+      return IPlayer.NONE;
+    }
+  };
+
+  /* [ API METHODS ] ======================================================================================================================================= */
+
+  /**
+   * Create player for the session. Called from the worker thread of the session.
+   *
+   * @param session index of the session, matches index of the level configuration.
+   * @return player instance.
+   */
+  IPlayer create(final int session);
+}
@@ -0,0 +1,143 @@
+package com.amaya.game.simulation;
+
+import com.amaya.game.GameController;
+import com.amaya.game.IGameEvents;
+import com.amaya.game.entities.Fish;
+import com.amaya.game.entities.Level;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Recorded game session: level configuration, simulation tick and the timestamped touches that reached
+ * {@link GameController#touched(com.badlogic.gdx.math.Vector3)}. Session is re-played headless, without any screen,
+ * as fast as CPU allows, so the same workload can be measured before and after the change.
+ * <p>
+ * Layout: magic, version, tick, level configuration ({@link Level#writeConfig(ByteBuffer)}), then entries till the
+ * end of the file: game time, x, y. Log is append-only, see {@link ReplayRecorder}.
+ * </p>
+ */
+public class ReplayLog {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Replay signature: 'SFRL'. */
+  public static final int MAGIC = 0x5346524C;
+  /** Version of the replay layout. */
+  public static final int VERSION = 2;
+  /** Size of one touch entry in bytes. */
+  public static final int ENTRY_SIZE = 3 * 4;
+  /** Replay file of the last recorded session, in application local storage. */
+  public static final String FILE = "level.replay";
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Level configuration of the session. */
+  private final Level.Builder mLevel;
+  /** Fixed simulation step of the session in seconds. */
+  private final float mTick;
+  /** Game time of each touch, ascending. */
+  private final float[] mTimes;
+  /** Touch X coordinates in virtual screen space. */
+  private final float[] mX;
+  /** Touch Y coordinates in virtual screen space. */
+  private final float[] mY;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  /**
+   * Create log from the recorded data. Arrays are not copied.
+   *
+   * @param level level configuration.
+   * @param tick fixed simulation step in seconds.
+   * @param times game time of each touch, ascending.
+   * @param x touches X coordinates.
+   * @param y touches Y coordinates.
+   */
+  public ReplayLog(final Level.Builder level, final float tick, final float[] times, final float[] x, final float[] y) {
+    mLevel = level;
+    mTick = tick;
+    mTimes = times;
+    mX = x;
+    mY = y;
+  }
+
+	/* [ STATIC METHODS ] ==================================================================================================================================== */
+
+  /** Read replay from the file. */
+  public static ReplayLog load(final FileHandle file) {
+    return read(ByteBuffer.wrap(file.readBytes()));
+  }
+
+  /**
+   * Read replay from the buffer. Incomplete trailing entry of the interrupted recording is ignored.
+   *
+   * @throws IllegalArgumentException buffer is not a replay of the supported version.
+   */
+  public static ReplayLog read(final ByteBuffer in) {
+    if (in.remaining() < 8 || MAGIC != in.getInt()) {
+      throw new IllegalArgumentException("Not a game replay.");
+    }
+
+    final int version = in.getInt();
+    if (VERSION != version) {
+      throw new IllegalArgumentException("Unsupported replay version: " + version);
+    }
+
+    final float tick = in.getFloat();
+    final Level.Builder level = new Level.Builder().readConfig(in);
+
+    final int count = in.remaining() / ENTRY_SIZE;
+    final float[] times = new float[count];
+    final float[] x = new float[count];
+    final float[] y = new float[count];
+
+    for (int i = 0; i < count; i++) {
+      times[i] = in.getFloat();
+      x[i] = in.getFloat();
+      y[i] = in.getFloat();
+    }
+
+    return new ReplayLog(level, tick, times, x, y);
+  }
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /** New player of the recorded touches. Each session needs own player. */
+  public IPlayer newPlayer() {
+    return new ReplayPlayer(mTimes, mX, mY);
+  }
+
+  /** New runner of the session: fresh level, fish and controller, recorded tick and touches. */
+  public HeadlessRunner newRunner() {
+    final GameController controller = new GameController(new Fish(), mLevel.build(), IGameEvents.NONE);
+
+    return new HeadlessRunner(controller, mTick).setPlayer(newPlayer());
+  }
+
+  /**
+   * Re-play the session till the end of the game.
+   *
+   * @param maxGameTime game time limit in seconds.
+   * @return results of the session.
+   */
+  public SimulationResult play(final float maxGameTime) {
+    return newRunner().run(maxGameTime);
+  }
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  /** Level configuration of the session. Builder is shared, do not modify it. */
+  public Level.Builder getLevel() {
+    return mLevel;
+  }
+
+  /** Fixed simulation step of the session in seconds. */
+  public float getTick() {
+    return mTick;
+  }
+
+  /** Quantity of recorded touches. */
+  public int size() {
+    return mTimes.length;
+  }
+}
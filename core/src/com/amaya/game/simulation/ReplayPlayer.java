@@ -0,0 +1,41 @@
+package com.amaya.game.simulation;
+
+import com.amaya.game.GameController;
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * Player that repeats the recorded touches. Touch recorded at game time T was made between simulation ticks, so it is
+ * repeated before the first tick that starts at game time T or later.
+ */
+/* package */ final class ReplayPlayer implements IPlayer {
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  private final float[] mTimes;
+  private final float[] mX;
+  private final float[] mY;
+  /** Reusable touch point. Controller copies the coordinates. */
+  private final Vector3 mPoint = new Vector3();
+  /** Index of the next touch. */
+  private int mCursor;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  /* package */ ReplayPlayer(final float[] times, final float[] x, final float[] y) {
+    mTimes = times;
+    mX = x;
+    mY = y;
+  }
+
+	/* [ Interface IPlayer ] ================================================================================================================================= */
+
+  /** {@inheritDoc} */
+  @Override
+  public void onTick(final GameController controller) {
+    final float gameTime = controller.getGameTime();
+
+    while (mCursor < mTimes.length && mTimes[mCursor] <= gameTime) {
+      controller.touched(mPoint.set(mX[mCursor], mY[mCursor], 0));
+      mCursor++;
+    }
+  }
+}
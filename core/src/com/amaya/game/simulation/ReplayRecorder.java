@@ -0,0 +1,91 @@
+package com.amaya.game.simulation;
+
+import com.amaya.game.entities.Level;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Append-only writer of the {@link ReplayLog}. Header is written on {@link #start(Level, float, FileHandle)}, touches are
+ * collected in memory and appended to the file by blocks, so recording does no I/O on each touch.
+ * <p>
+ * Instance is not thread safe, call it from the thread that dispatches the touches.
+ * </p>
+ */
+public class ReplayRecorder {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Size of the in-memory block. Enough for header and few hundreds of touches. */
+  public static final int BLOCK_SIZE = 4 * 1024;
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Pending bytes of the log. */
+  private final ByteBuffer mBlock = ByteBuffer.allocate(BLOCK_SIZE);
+  /** Log file, NULL when recording is not active. */
+  private FileHandle mFile;
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /**
+   * Start recording of the new session. File is truncated.
+   *
+   * @param level recorded level, in initial state.
+   * @param tick fixed simulation step of the session in seconds.
+   * @param file log file.
+   */
+  public void start(final Level level, final float tick, final FileHandle file) {
+    mFile = file;
+    mBlock.clear();
+
+    mBlock.putInt(ReplayLog.MAGIC).putInt(ReplayLog.VERSION).putFloat(tick);
+    level.writeConfig(mBlock);
+
+    write(false);
+  }
+
+  /**
+   * Record touch accepted by the game controller.
+   *
+   * @param gameTime game time of the controller at the moment of the touch.
+   * @param x touch X coordinate in virtual screen space.
+   * @param y touch Y coordinate in virtual screen space.
+   */
+  public void record(final float gameTime, final float x, final float y) {
+    if (null == mFile)
+      return;
+
+    if (mBlock.remaining() < ReplayLog.ENTRY_SIZE) {
+      flush();
+    }
+
+    mBlock.putFloat(gameTime).putFloat(x).putFloat(y);
+  }
+
+  /** Append pending touches to the file. */
+  public void flush() {
+    if (null != mFile && mBlock.position() > 0) {
+      write(true);
+    }
+  }
+
+  /** Flush pending touches and stop recording. */
+  public void stop() {
+    flush();
+    mFile = null;
+  }
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  /** Is recording active. */
+  public boolean isRecording() {
+    return null != mFile;
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  private void write(final boolean append) {
+    mFile.writeBytes(mBlock.array(), 0, mBlock.position(), append);
+    mBlock.clear();
+  }
+}
@@ -0,0 +1,152 @@
+package com.amaya.game.simulation;
+
+import com.amaya.game.GameController;
+import com.amaya.game.IGameEvents;
+import com.amaya.game.entities.Fish;
+import com.amaya.game.entities.Level;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Run many isolated game sessions in parallel. Each session owns own {@link Level}, {@link Fish} and {@link GameController}
+ * and is executed by one worker thread from start to the end, so sessions share no mutable state.
+ * <p>
+ * Typical usage: level balancing, regression runs and bot evaluation. Call {@link #shutdown()} when farm is not needed
+ * anymore.
+ * </p>
+ */
+public class SimulationFarm {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Name prefix of the worker threads. */
+  public static final String THREAD_NAME = "simulation-farm-";
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Worker threads. */
+  private final ExecutorService mExecutor;
+  /** Quantity of worker threads. */
+  private final int mThreads;
+  /** Fixed simulation step in seconds. */
+  private final float mTick;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  /** Farm with worker per available CPU core. */
+  public SimulationFarm() {
+    this(Runtime.getRuntime().availableProcessors(), HeadlessRunner.DEFAULT_TICK);
+  }
+
+  /**
+   * Create farm.
+   *
+   * @param threads quantity of worker threads.
+   * @param tick fixed simulation step of each session in seconds.
+   */
+  public SimulationFarm(final int threads, final float tick) {
+    mThreads = Math.max(1, threads);
+    mTick = tick;
+    mExecutor = Executors.newFixedThreadPool(mThreads, new WorkerFactory());
+  }
+
+	/* [ API METHODS ] ======================================================================================================================================= */
+
+  /** Run sessions without players. */
+  public FarmResult run(final List<Level.Builder> levels, final float maxGameTime) {
+    return run(levels, IPlayerFactory.NONE, maxGameTime);
+  }
+
+  /**
+   * Run session for each level configuration and wait for all of them.
+   *
+   * @param levels level configurations, one session per configuration. Builders should not be modified during the run.
+   * @param players factory of the sessions players.
+   * @param maxGameTime game time limit of each session in seconds.
+   * @return aggregated results, sessions are in order of the level configurations.
+   */
+  public FarmResult run(final List<Level.Builder> levels, final IPlayerFactory players, final float maxGameTime) {
+    final List<Callable<SimulationResult>> sessions = new ArrayList<Callable<SimulationResult>>(levels.size());
+    final IPlayerFactory factory = (null == players) ? IPlayerFactory.NONE : players;
+
+    for (int i = 0; i < levels.size(); i++) {
+      sessions.add(new Session(i, levels.get(i), factory, maxGameTime, mTick));
+    }
+
+    final long started = System.nanoTime();
+    final List<SimulationResult> results = new ArrayList<SimulationResult>(sessions.size());
+
+    try {
+      for (Future<SimulationResult> future : mExecutor.invokeAll(sessions)) {
+        results.add(future.get());
+      }
+    } catch (final InterruptedException ignored) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Simulation farm run interrupted.");
+    } catch (final ExecutionException ex) {
+      throw new IllegalStateException("Simulation session failed.", ex.getCause());
+    }
+
+    return new FarmResult(results, System.nanoTime() - started, mThreads);
+  }
+
+  /** Stop worker threads. Farm cannot be used after the call. */
+  public void shutdown() {
+    mExecutor.shutdownNow();
+  }
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  /** Quantity of worker threads. */
+  public int getThreads() {
+    return mThreads;
+  }
+
+	/* [ NESTED DECLARATIONS ] =============================================================================================================================== */
+
+  /** One game session. Instantiates all own entities inside the worker thread. */
+  private static final class Session implements Callable<SimulationResult> {
+    private final int mIndex;
+    private final Level.Builder mLevel;
+    private final IPlayerFactory mPlayers;
+    private final float mMaxGameTime;
+    private final float mTick;
+
+    public Session(final int index, final Level.Builder level, final IPlayerFactory players, final float maxGameTime, final float tick) {
+      mIndex = index;
+      mLevel = level;
+      mPlayers = players;
+      mMaxGameTime = maxGameTime;
+      mTick = tick;
+    }
+
+    @Override
+    public SimulationResult call() throws Exception {
+      final GameController controller = new GameController(new Fish(), mLevel.build(), IGameEvents.NONE);
+
+      return new HeadlessRunner(controller, mTick)
+              .setPlayer(mPlayers.create(mIndex))
+              .run(mMaxGameTime);
+    }
+  }
+
+  /** Daemon worker threads, farm never blocks application exit. */
+  private static final class WorkerFactory implements ThreadFactory {
+    private final AtomicInteger mCounter = new AtomicInteger();
+
+    @Override
+    public Thread newThread(final Runnable r) {
+      final Thread thread = new Thread(r, THREAD_NAME + mCounter.incrementAndGet());
+      thread.setDaemon(true);
+
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.amaya.game.simulation;
+
+import com.amaya.game.GameController;
+
+/** Outcome of the headless simulation run. */
+public class SimulationResult {
+  /* [ MEMBERS ] =========================================================================================================================================== */
+
+  /** Collected points. */
+  public final int Points;
+  /** Fish health at the end of simulation. */
+  public final int Health;
+  /** Simulated game time in seconds. */
+  public final float GameTime;
+  /** Quantity of executed simulation ticks. */
+  public final long Ticks;
+  /** Wall clock time spent on simulation, in nanoseconds. */
+  public final long WallTime;
+  /** Controller state at the end of simulation. */
+  public final GameController.KnownStates State;
+
+	/* [ CONSTRUCTORS ] ====================================================================================================================================== */
+
+  public SimulationResult(final int points, final int health, final float gameTime, final long ticks, final long wallTime,
+                          final GameController.KnownStates state) {
+    Points = points;
+    Health = health;
+    GameTime = gameTime;
+    Ticks = ticks;
+    WallTime = wallTime;
+    State = state;
+  }
+
+	/* [ GETTER / SETTER METHODS ] =========================================================================================================================== */
+
+  /** Fish survived till the end of the level. */
+  public boolean isSurvived() {
+    return Health > 0;
+  }
+
+  /** Simulated game seconds per one wall clock second. */
+  public double getSpeedup() {
+    return (0 == WallTime) ? 0 : GameTime / (WallTime / 1e9);
+  }
+
+	/* [ OVERRIDES ] ========================================================================================================================================= */
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "{points: " + Points +
+            ", health: " + Health +
+            ", gameTime: " + GameTime +
+            ", ticks: " + Ticks +
+            ", wallTime: " + WallTime +
+            ", state: " + State + "}";
+  }
+}
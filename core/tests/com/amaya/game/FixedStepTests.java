@@ -0,0 +1,35 @@
+package com.amaya.game;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/** Fixed time step accumulator unit tests. */
+public class FixedStepTests {
+  /* [ TESTS ] ============================================================================================================================================= */
+
+  @Test
+  public void test_00_AccumulatesFrameTime() {
+    final FixedStep step = new FixedStep(10, 5);
+
+    // 0.25 seconds: two ticks and a half
+    assertThat(step.advance(0.25f), is(2));
+    assertTrue(Math.abs(step.getAlpha() - 0.5f) < 1e-4f);
+
+    // short frames produce no ticks till the tick time is collected
+    assertThat(step.advance(0.04f), is(0));
+    assertThat(step.advance(0.02f), is(1));
+  }
+
+  @Test
+  public void test_01_CatchUpIsLimited() {
+    final FixedStep step = new FixedStep(60, 4);
+
+    // one second long frame, the rest of the time is dropped
+    assertThat(step.advance(1.0f), is(4));
+    assertTrue(step.getAlpha() < 1.0f);
+    assertThat(step.advance(0), is(0));
+  }
+}
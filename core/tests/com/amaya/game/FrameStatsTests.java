@@ -0,0 +1,76 @@
+package com.amaya.game;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/** Frame timing unit tests. */
+public class FrameStatsTests {
+  /* [ TESTS ] ============================================================================================================================================= */
+
+  @Test
+  public void test_00_Percentiles() {
+    final FrameStats stats = new FrameStats(100);
+
+    // samples 100..1, reversed order should not matter
+    for (int i = 100; i > 0; i--) {
+      stats.record(FrameStats.Phases.LEVEL, i);
+    }
+
+    assertThat(stats.percentile(FrameStats.Phases.LEVEL, 50), is(50L));
+    assertThat(stats.percentile(FrameStats.Phases.LEVEL, 95), is(95L));
+    assertThat(stats.percentile(FrameStats.Phases.LEVEL, 99), is(99L));
+    assertThat(stats.percentile(FrameStats.Phases.RENDER, 99), is(0L));
+  }
+
+  @Test
+  public void test_01_RingBufferKeepsLatestSamples() {
+    final FrameStats stats = new FrameStats(10);
+
+    for (int i = 1; i <= 25; i++) {
+      stats.record(FrameStats.Phases.FRAME, i);
+    }
+
+    // only 16..25 are left in buffer
+    assertThat(stats.getCount(FrameStats.Phases.FRAME), is(10));
+    assertThat(stats.percentile(FrameStats.Phases.FRAME, 1), is(16L));
+    assertThat(stats.percentile(FrameStats.Phases.FRAME, 100), is(25L));
+  }
+
+  @Test
+  public void test_02_DisabledRecordsNothing() {
+    final FrameStats stats = new FrameStats();
+
+    stats.begin(FrameStats.Phases.COMMANDS);
+    stats.end(FrameStats.Phases.COMMANDS);
+
+    FrameStats.NONE.setEnabled(true);
+    FrameStats.NONE.begin(FrameStats.Phases.COMMANDS);
+    FrameStats.NONE.end(FrameStats.Phases.COMMANDS);
+
+    assertThat(stats.getCount(FrameStats.Phases.COMMANDS), is(0));
+    assertThat(FrameStats.NONE.getCount(FrameStats.Phases.COMMANDS), is(0));
+  }
+
+  @Test
+  public void test_03_DrainMovesSamples() {
+    final FrameStats worker = new FrameStats(4);
+    final FrameStats stats = new FrameStats(8);
+
+    stats.record(FrameStats.Phases.LEVEL, 1);
+
+    for (long nanos = 10; nanos <= 60; nanos += 10) {
+      worker.record(FrameStats.Phases.LEVEL, nanos);
+    }
+
+    stats.drain(worker);
+
+    // ring buffer of the source keeps only the latest samples
+    assertThat(worker.getCount(FrameStats.Phases.LEVEL), is(0));
+    assertThat(stats.getCount(FrameStats.Phases.LEVEL), is(5));
+    assertThat(stats.percentile(FrameStats.Phases.LEVEL, 1), is(1L));
+    assertThat(stats.percentile(FrameStats.Phases.LEVEL, 40), is(30L));
+    assertThat(stats.percentile(FrameStats.Phases.LEVEL, 100), is(60L));
+  }
+}
@@ -0,0 +1,49 @@
+package com.amaya.game;
+
+import com.amaya.game.entities.Fish;
+import com.amaya.game.entities.Level;
+import com.amaya.game.entities.environment.DropStore;
+import com.amaya.game.entities.modifiers.Mandate;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/** Game controller unit tests. */
+public class GameControllerTests {
+  /* [ TESTS ] ============================================================================================================================================= */
+
+  @Test
+  public void test_00_TimeOfImpact() {
+    // passes through the box, enters in the middle of the path
+    assertThat(GameController.timeOfImpact(-10, 5, 40, 0, 10, 10), is(0.25f));
+
+    // stays inside
+    assertThat(GameController.timeOfImpact(5, 5, 0, 0, 10, 10), is(0f));
+
+    // misses the box, and touches the edge only
+    assertThat(GameController.timeOfImpact(-10, 15, 40, 0, 10, 10), is(-1f));
+    assertThat(GameController.timeOfImpact(-10, 10, 40, 0, 10, 10), is(-1f));
+
+    // stops before the box
+    assertThat(GameController.timeOfImpact(-10, 5, 5, 0, 10, 10), is(-1f));
+  }
+
+  @Test
+  public void test_01_FastDropDoesNotTunnel() {
+    final Level level = new Level.Builder().setTotalTime(100).build();
+    final GameController controller = new GameController(new Fish(), level, IGameEvents.NONE);
+    final DropStore drops = level.Drops;
+    final float x = controller.getFish().Bounds.x + controller.getFish().Bounds.width / 2;
+
+    // vertical trajectory through the fish center, whole screen per second
+    drops.add(DropStore.Types.ALIEN_GREEN, x, Spacefish.Dimensions.VIRTUAL_SCREEN_HEIGHT, x, 0, 1.0f, 0);
+
+    // one long tick moves the drop from above the fish to below it
+    controller.update(0.9f);
+
+    assertThat(drops.size(), is(0));
+    assertThat(controller.getQueue(Mandate.Kinds.MODIFIER).size(), is(1));
+  }
+}
@@ -0,0 +1,124 @@
+package com.amaya.game;
+
+import com.amaya.game.entities.Fish;
+import com.amaya.game.entities.Level;
+import com.amaya.game.simulation.HeadlessRunner;
+import com.amaya.game.simulation.IPlayer;
+import com.amaya.game.simulation.SimulationResult;
+import com.badlogic.gdx.math.Vector3;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/** Binary snapshot unit tests. */
+public class GameSnapshotTests {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Level duration in seconds. */
+  private static final float LEVEL_TIME = 20;
+
+  /** Player that chases the fish over the field, decisions depend on the game time only. */
+  private static final IPlayer CHASER = new IPlayer() {
+    @Override
+    public void onTick(final GameController controller) {
+      final int tick = Math.round(controller.getGameTime() / HeadlessRunner.DEFAULT_TICK);
+
+      if (0 == tick % 30) {
+        controller.touched(new Vector3((tick * 37) % Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH, (tick * 13) % 200, 0));
+      }
+    }
+  };
+
+  /* [ TESTS ] ============================================================================================================================================= */
+
+  @Test
+  public void test_00_RestoredLevelContinuesTheSame() {
+    final Level.Builder builder = new Level.Builder().setSeed(7).setTotalTime(LEVEL_TIME).randomize();
+    final HeadlessRunner original = new HeadlessRunner(builder.build()).setPlayer(CHASER);
+
+    original.run(LEVEL_TIME / 2);
+    final ByteBuffer snapshot = copy(new GameSnapshot().capture(original.getController()));
+    final SimulationResult expected = original.run(LEVEL_TIME * 2);
+
+    // process death: level re-created from the snapshot configuration
+    final GameController controller = new GameController(new Fish(), GameSnapshot.builder(snapshot).build(), IGameEvents.NONE);
+    GameSnapshot.restore(controller, snapshot);
+
+    final SimulationResult actual = new HeadlessRunner(controller, HeadlessRunner.DEFAULT_TICK).setPlayer(CHASER).run(LEVEL_TIME * 2);
+
+    assertThat(actual.Points, is(expected.Points));
+    assertThat(actual.Health, is(expected.Health));
+    assertThat(actual.GameTime, is(expected.GameTime));
+    assertThat(actual.State, is(expected.State));
+  }
+
+  @Test
+  public void test_01_ForeignSnapshotRejected() {
+    final Level level = new Level.Builder().setSeed(7).setTotalTime(LEVEL_TIME).randomize().build();
+    final GameController controller = new GameController(new Fish(), level, IGameEvents.NONE);
+    final ByteBuffer snapshot = copy(new GameSnapshot().capture(controller));
+
+    final Level other = new Level.Builder().setSeed(8).setTotalTime(LEVEL_TIME).randomize().build();
+
+    try {
+      GameSnapshot.restore(new GameController(new Fish(), other, IGameEvents.NONE), snapshot);
+      fail("snapshot of another level restored");
+    } catch (final IllegalArgumentException ignored) {
+      // expected
+    }
+
+    // same seed, another configuration
+    final Level longer = new Level.Builder().setSeed(7).setTotalTime(LEVEL_TIME * 2).randomize().build();
+
+    try {
+      GameSnapshot.restore(new GameController(new Fish(), longer, IGameEvents.NONE), snapshot);
+      fail("snapshot of another configuration restored");
+    } catch (final IllegalArgumentException ignored) {
+      // expected
+    }
+
+    try {
+      GameSnapshot.restore(controller, ByteBuffer.wrap(new byte[16]));
+      fail("garbage restored");
+    } catch (final IllegalArgumentException ignored) {
+      // expected
+    }
+  }
+
+  @Test
+  public void test_02_BrokenCursorRejected() {
+    final Level level = new Level.Builder().setSeed(7).setTotalTime(LEVEL_TIME).randomize().build();
+    final GameController controller = new GameController(new Fish(), level, IGameEvents.NONE);
+    final ByteBuffer snapshot = copy(new GameSnapshot().capture(controller));
+
+    // level state starts with the seed, cursor follows it; header config is skipped by the search start
+    int position = 8 + 8;
+    while (snapshot.getLong(position) != level.getSeed()) {
+      position++;
+    }
+
+    snapshot.putInt(position + 8, level.getTotalDrops() + 1);
+
+    try {
+      GameSnapshot.restore(new GameController(new Fish(), level, IGameEvents.NONE), snapshot);
+      fail("cursor out of the timeline restored");
+    } catch (final IllegalArgumentException ignored) {
+      // expected
+    }
+  }
+
+  /* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  /** Snapshot buffer is reused between captures, keep own copy. */
+  private static ByteBuffer copy(final ByteBuffer buffer) {
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+
+    return ByteBuffer.wrap(bytes);
+  }
+}
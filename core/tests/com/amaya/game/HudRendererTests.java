@@ -0,0 +1,44 @@
+package com.amaya.game;
+
+import com.badlogic.gdx.utils.StringBuilder;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/** HUD formatting unit tests. */
+public class HudRendererTests {
+  /* [ TESTS ] ============================================================================================================================================= */
+
+  @Test
+  public void test_00_SpeedFormatting() {
+    assertThat(speed(1.0f), is("1.0"));
+    assertThat(speed(0.5f), is("0.5"));
+    assertThat(speed(0.125f), is("0.125"));
+    assertThat(speed(0.0625f), is("0.063"));
+    assertThat(speed(2.05f), is("2.05"));
+    assertThat(speed(0.0f), is("0.0"));
+    assertThat(speed(12.3f), is("12.3"));
+  }
+
+  @Test
+  public void test_01_BufferIsReused() {
+    final StringBuilder out = new StringBuilder(16);
+
+    out.append('x');
+    HudRenderer.appendSpeed(out, 1.5f);
+    assertThat(out.toString(), is("x1.5"));
+
+    out.setLength(0);
+    out.append('x');
+    HudRenderer.appendSpeed(out, 0.25f);
+    assertThat(out.toString(), is("x0.25"));
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  private static String speed(final float value) {
+    return HudRenderer.appendSpeed(new StringBuilder(), value).toString();
+  }
+}
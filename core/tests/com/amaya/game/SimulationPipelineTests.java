@@ -0,0 +1,232 @@
+package com.amaya.game;
+
+import com.amaya.game.entities.Fish;
+import com.amaya.game.entities.Level;
+import com.amaya.game.simulation.HeadlessRunner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/** Worker thread simulation and parallel range unit tests. */
+public class SimulationPipelineTests {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Level duration in seconds. */
+  private static final float LEVEL_TIME = 20;
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  private ParallelRange mParallel;
+
+	/* [ SETUP / TEAR DOWN ] ================================================================================================================================= */
+
+  @Before
+  public void setUp() {
+    mParallel = new ParallelRange(4);
+  }
+
+  @After
+  public void tearDown() {
+    mParallel.shutdown();
+  }
+
+  /* [ TESTS ] ============================================================================================================================================= */
+
+  @Test
+  public void test_00_RangeVisitsEachIndexOnce() {
+    final int[] visits = new int[1001];
+
+    for (int round = 0; round < 100; round++) {
+      mParallel.run(visits.length, new ParallelRange.ITask() {
+        @Override
+        public void run(final int from, final int to, final int worker) {
+          for (int i = from; i < to; i++) {
+            visits[i]++;
+          }
+        }
+      });
+    }
+
+    for (int count : visits) {
+      assertThat(count, is(100));
+    }
+  }
+
+  @Test
+  public void test_01_RangeFailureReachesCaller() {
+    final AtomicInteger chunks = new AtomicInteger();
+
+    try {
+      mParallel.run(100, new ParallelRange.ITask() {
+        @Override
+        public void run(final int from, final int to, final int worker) {
+          chunks.incrementAndGet();
+
+          if (worker == 2) {
+            throw new IllegalStateException("chunk failed");
+          }
+        }
+      });
+
+      fail("failure of the chunk is lost");
+    } catch (final IllegalStateException ignored) {
+      // expected
+    }
+
+    // all chunks finished, pool is reusable
+    assertThat(chunks.get(), is(4));
+    mParallel.run(10, new ParallelRange.ITask() {
+      @Override
+      public void run(final int from, final int to, final int worker) {
+        chunks.incrementAndGet();
+      }
+    });
+    assertThat(chunks.get(), is(8));
+  }
+
+  @Test
+  public void test_02_PipelineMatchesSerialRun() {
+    final Level.Builder builder = new Level.Builder().setSeed(5).setTotalTime(LEVEL_TIME).setCurve(Level.Curves.BURST).stress(10000);
+    final float tick = HeadlessRunner.DEFAULT_TICK;
+
+    final GameController serial = new GameController(new Fish(), builder.build(), IGameEvents.NONE);
+    final Level level = builder.build();
+    final GameController threaded = new GameController(new Fish(), level, IGameEvents.NONE);
+    level.Drops.setParallel(mParallel);
+
+    final SimulationPipeline pipeline = new SimulationPipeline(threaded, tick);
+    pipeline.start();
+
+    try {
+      // frames with variable quantity of ticks, published frame lags one batch behind
+      RenderSnapshot frame = null;
+      for (int i = 0; i < 600; i++) {
+        final int steps = 1 + i % 3;
+
+        frame = pipeline.submit(steps);
+
+        for (int s = 0; s < steps; s++) {
+          serial.update(tick);
+        }
+      }
+
+      pipeline.sync();
+      assertThat(frame.getGameTime() < threaded.getGameTime(), is(true));
+    } finally {
+      pipeline.stop();
+    }
+
+    assertThat(threaded.getGameTime(), is(serial.getGameTime()));
+    assertThat(threaded.getFish().getPoints(), is(serial.getFish().getPoints()));
+    assertThat(threaded.getFish().getHealth(), is(serial.getFish().getHealth()));
+    assertThat(level.Drops.size(), is(serial.getCurrentLevel().Drops.size()));
+  }
+
+  @Test
+  public void test_03_TaskRunsOnWorker() {
+    final float tick = HeadlessRunner.DEFAULT_TICK;
+    final Level level = new Level.Builder().setSeed(5).setTotalTime(LEVEL_TIME).randomize().build();
+    final GameController controller = new GameController(new Fish(), level, IGameEvents.NONE);
+    final SimulationPipeline pipeline = new SimulationPipeline(controller, tick);
+    final String[] thread = new String[1];
+    final Runnable task = new Runnable() {
+      @Override
+      public void run() {
+        thread[0] = Thread.currentThread().getName();
+      }
+    };
+
+    // not started pipeline runs the task on the caller
+    pipeline.execute(task);
+    assertThat(thread[0], is(Thread.currentThread().getName()));
+
+    pipeline.start();
+
+    try {
+      pipeline.submit(2);
+      pipeline.execute(task);
+      assertThat(thread[0], is(SimulationPipeline.THREAD_NAME));
+
+      // task between the batches does not hide the completed one
+      assertThat(pipeline.submit(0).getGameTime(), is(tick * 2));
+
+      try {
+        pipeline.execute(new Runnable() {
+          @Override
+          public void run() {
+            throw new IllegalStateException("task failed");
+          }
+        });
+
+        fail("failure of the task is lost");
+      } catch (final IllegalStateException ignored) {
+        // expected
+      }
+    } finally {
+      pipeline.stop();
+    }
+  }
+
+  @Test
+  public void test_04_ErrorReachesCaller() {
+    final float tick = HeadlessRunner.DEFAULT_TICK;
+    final Level level = new Level.Builder().setSeed(6).setTotalTime(LEVEL_TIME).randomize().build();
+    final GameController controller = new GameController(new Fish(), level, IGameEvents.NONE);
+    final SimulationPipeline pipeline = new SimulationPipeline(controller, tick);
+
+    pipeline.start();
+
+    try {
+      try {
+        pipeline.execute(new Runnable() {
+          @Override
+          public void run() {
+            throw new AssertionError("task failed");
+          }
+        });
+
+        fail("error of the task is lost");
+      } catch (final AssertionError ignored) {
+        // expected
+      }
+
+      // worker survives the error and keeps serving batches
+      pipeline.submit(3);
+      assertThat(pipeline.submit(0).getGameTime(), is(tick * 3));
+    } finally {
+      pipeline.stop();
+    }
+  }
+
+  @Test
+  public void test_05_WorkerStatsDrained() {
+    final float tick = HeadlessRunner.DEFAULT_TICK;
+    final Level level = new Level.Builder().setSeed(7).setTotalTime(LEVEL_TIME).randomize().build();
+    final GameController controller = new GameController(new Fish(), level, IGameEvents.NONE);
+    final SimulationPipeline pipeline = new SimulationPipeline(controller, tick);
+    final FrameStats stats = new FrameStats();
+
+    stats.setEnabled(true);
+    pipeline.setStats(stats);
+    assertThat(controller.getStats() == stats, is(false));
+
+    pipeline.start();
+
+    try {
+      pipeline.submit(1);
+      pipeline.submit(4);
+    } finally {
+      pipeline.stop();
+    }
+
+    assertThat(stats.getCount(FrameStats.Phases.LEVEL), is(5));
+    assertThat(controller.getStats().getCount(FrameStats.Phases.LEVEL), is(0));
+  }
+}
@@ -5,10 +5,12 @@ import com.amaya.game.screens.InfoScreen;
 import com.amaya.game.screens.LevelScreen;
 import com.amaya.game.screens.MenuScreen;
 import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Files;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Graphics;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 
 import org.junit.After;
@@ -64,6 +66,11 @@ public class SpacefishTests {
     // Mock Gdx lib
     Gdx.graphics = mock(Graphics.class);
     Gdx.app = mock(Application.class);
+    Gdx.files = mock(Files.class);
+
+    // no saved level and no levels pack, files do not exist
+    when(Gdx.files.internal(anyString())).thenReturn(mock(FileHandle.class));
+    when(Gdx.files.local(anyString())).thenReturn(mock(FileHandle.class));
 
     mGame.create();
   }
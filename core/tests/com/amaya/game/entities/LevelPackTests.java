@@ -0,0 +1,118 @@
+package com.amaya.game.entities;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/** Levels pack unit tests. */
+public class LevelPackTests {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Quantity of levels in the pack. */
+  private static final int LEVELS = 1000;
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  private FileHandle mFile;
+  private FileHandle mCopy;
+
+	/* [ SETUP / TEAR DOWN ] ================================================================================================================================= */
+
+  @Before
+  public void setUp() throws IOException {
+    mFile = new FileHandle(File.createTempFile("spacefish", ".pack"));
+    mCopy = new FileHandle(File.createTempFile("spacefish", ".copy"));
+    mCopy.delete();
+  }
+
+  @After
+  public void tearDown() {
+    mFile.delete();
+    mCopy.delete();
+  }
+
+  /* [ TESTS ] ============================================================================================================================================= */
+
+  @Test
+  public void test_00_MappedPackDecodesSelectedLevel() {
+    final List<Level.Builder> levels = new ArrayList<Level.Builder>(LEVELS);
+
+    for (int i = 0; i < LEVELS; i++) {
+      levels.add(new Level.Builder().setSeed(i).setTotalTime(30 + i % 60).setCurve(i % 2).randomize());
+    }
+
+    LevelPack.write(levels, mFile);
+    final LevelPack pack = LevelPack.open(mFile);
+
+    assertThat(pack.size(), is(LEVELS));
+
+    for (int index : new int[]{0, 1, LEVELS / 2, LEVELS - 1}) {
+      final Level expected = levels.get(index).build();
+      final Level actual = pack.level(index);
+
+      assertThat(actual.getSeed(), is(expected.getSeed()));
+      assertThat(actual.getTotalTime(), is(expected.getTotalTime()));
+      assertThat(actual.getCurve(), is(expected.getCurve()));
+      assertThat(actual.getAsteroids(), is(expected.getAsteroids()));
+      assertThat(actual.getAliens(), is(expected.getAliens()));
+      assertThat(actual.getTotalDrops(), is(expected.getTotalDrops()));
+    }
+  }
+
+  @Test
+  public void test_01_BrokenPackRejected() {
+    try {
+      new LevelPack(ByteBuffer.wrap(new byte[16]));
+      fail("garbage opened");
+    } catch (final IllegalArgumentException ignored) {
+      // expected
+    }
+
+    assertThat(LevelPack.EMPTY.size(), is(0));
+  }
+
+  @Test
+  public void test_02_PackedAssetExtractedForMapping() {
+    final List<Level.Builder> levels = new ArrayList<Level.Builder>();
+
+    for (int i = 0; i < 10; i++) {
+      levels.add(new Level.Builder().setSeed(i).setTotalTime(30 + i).randomize());
+    }
+
+    LevelPack.write(levels, mFile);
+    final byte[] bytes = mFile.readBytes();
+
+    // asset packed into APK: readable, but not a file
+    final FileHandle asset = new FileHandle(new File(mFile.path() + ".apk")) {
+      @Override
+      public InputStream read() {
+        return new ByteArrayInputStream(bytes);
+      }
+    };
+
+    assertThat(LevelPack.open(asset, mCopy).size(), is(10));
+    assertThat(mCopy.readBytes(), is(bytes));
+
+    // damaged copy is replaced by the asset
+    mCopy.writeBytes(new byte[bytes.length], false);
+
+    final LevelPack pack = LevelPack.open(asset, mCopy);
+    assertThat(pack.size(), is(10));
+    assertThat(pack.level(9).getSeed(), is(9L));
+    assertThat(mCopy.readBytes(), is(bytes));
+  }
+}
@@ -0,0 +1,140 @@
+package com.amaya.game.entities;
+
+import com.amaya.game.entities.environment.DropStore;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/** Level spawn timeline unit tests. */
+public class LevelTests {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Level duration in seconds. */
+  private static final float LEVEL_TIME = 10;
+  /** Configuration of asteroids. */
+  private static final int[] ASTEROIDS = {3, 5, 2};
+  /** Configuration of aliens. */
+  private static final int[] ALIENS = {7, 4, 1};
+
+  /* [ TESTS ] ============================================================================================================================================= */
+
+  @Test
+  public void test_00_TimelineKeepsProportions() {
+    final Level level = newLevel();
+    final int[] counts = new int[DropStore.Types.COUNT];
+
+    // spawned drops never leave the store, level does not update them
+    for (float time = 0.1f; level.getState() == Level.KnownStates.RUNNING; time += 0.1f) {
+      level.update(time, 0.1f);
+    }
+
+    for (int i = 0; i < level.Drops.size(); i++) {
+      counts[level.Drops.getType(i)]++;
+    }
+
+    assertThat(level.getPendingDrops(), is(0));
+    assertThat(level.Drops.size(), is(level.getTotalDrops()));
+    assertThat(counts, is(new int[]{3, 5, 2, 7, 4, 1}));
+  }
+
+  @Test
+  public void test_01_BurstCatchUp() {
+    final Level level = newLevel();
+
+    // half of the level time in one long frame
+    final int spawned = level.update(LEVEL_TIME / 2, LEVEL_TIME / 2);
+
+    assertThat(spawned, is(level.getTotalDrops() / 2));
+    assertThat(level.update(LEVEL_TIME / 2, 0), is(0));
+    assertThat(level.getPendingDrops(), is(level.getTotalDrops() - spawned));
+  }
+
+  @Test
+  public void test_02_ResetReplaysSameDrops() {
+    final Level level = newLevel();
+
+    level.update(LEVEL_TIME, LEVEL_TIME);
+    final float[] first = snapshot(level.Drops);
+
+    level.reset();
+    assertThat(level.getPendingDrops(), is(level.getTotalDrops()));
+
+    level.update(LEVEL_TIME, LEVEL_TIME);
+    assertThat(snapshot(level.Drops), is(first));
+  }
+
+  @Test
+  public void test_03_StoreIsPreSized() {
+    final float tick = Level.REMOVAL_LAG;
+
+    for (int seed = 0; seed < 20; seed++) {
+      final Level.Builder builder = new Level.Builder().setSeed(seed).setTotalTime(60).setCurve(seed % 2);
+      final Level level = ((seed < 10) ? builder.randomize() : builder.stress(seed * 200)).build();
+      final DropStore drops = level.Drops;
+      final int capacity = drops.getCapacity();
+
+      // same order as controller does: spawn, move, remove exited
+      for (int step = 1; level.getState() == Level.KnownStates.RUNNING; step++) {
+        final float time = step * tick;
+
+        level.update(time, tick);
+        drops.update(time, tick);
+
+        for (int i = drops.size() - 1; i >= 0; i--) {
+          if (drops.getExitTime(i) < time) {
+            drops.remove(i);
+          }
+        }
+
+        assertThat(drops.getCapacity(), is(capacity));
+      }
+    }
+  }
+
+  @Test
+  public void test_04_StressSplitsDrops() {
+    final Level level = new Level.Builder().setSeed(42).setTotalTime(LEVEL_TIME).stress(10001).build();
+
+    assertThat(level.getTotalDrops(), is(10001));
+    assertThat(level.getAsteroids(), is(new int[]{2001, 2000, 0}));
+    assertThat(level.getAliens(), is(new int[]{2000, 2000, 2000}));
+  }
+
+  @Test
+  public void test_05_BurstSpawnsByWaves() {
+    final Level level = new Level.Builder().setSeed(42).setTotalTime(20).setCurve(Level.Curves.BURST).stress(1000).build();
+    final float wave = Level.BURST_PERIOD * Level.BURST_SHARE;
+
+    // whole first wave at the beginning of the period, nothing till the next one
+    assertThat(level.update(wave, wave), is(250));
+    assertThat(level.update(Level.BURST_PERIOD * 0.99f, Level.BURST_PERIOD * 0.99f - wave), is(0));
+    assertThat(level.update(Level.BURST_PERIOD + wave, wave), is(250));
+  }
+
+  /* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  private static Level newLevel() {
+    return new Level.Builder()
+            .setSeed(42)
+            .setTotalTime(LEVEL_TIME)
+            .setAsteroidsRaw(ASTEROIDS)
+            .setAliensRaw(ALIENS)
+            .build();
+  }
+
+  /** Types and trajectories of all drops in the store. */
+  private static float[] snapshot(final DropStore drops) {
+    final float[] values = new float[drops.size() * 4];
+
+    for (int i = 0, len = drops.size(); i < len; i++) {
+      values[i * 4] = drops.getType(i);
+      values[i * 4 + 1] = drops.getStartX(i);
+      values[i * 4 + 2] = drops.getEndX(i);
+      values[i * 4 + 3] = drops.getSpeed(i);
+    }
+
+    return values;
+  }
+}
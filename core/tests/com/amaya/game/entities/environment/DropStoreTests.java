@@ -0,0 +1,185 @@
+package com.amaya.game.entities.environment;
+
+import com.amaya.game.ParallelRange;
+import com.amaya.game.Spacefish;
+import com.amaya.game.entities.behavior.ClosedFormStrategy;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/** Drops storage and broadphase unit tests. */
+public class DropStoreTests {
+  /* [ TESTS ] ============================================================================================================================================= */
+
+  @Test
+  public void test_00_GridMatchesBruteForce() {
+    final Random random = new Random(42);
+    final DropStore drops = new DropStore(4);
+
+    for (int frame = 0; frame < 200; frame++) {
+      // spawn few new drops
+      for (int k = random.nextInt(5); k > 0; k--) {
+        drops.add(random.nextInt(DropStore.Types.COUNT), random.nextInt(Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH),
+                Spacefish.Dimensions.VIRTUAL_SCREEN_HEIGHT, random.nextInt(Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH), 0,
+                Drop.MIN_SPEED + random.nextFloat() * Drop.MAX_SPEED);
+      }
+
+      drops.update(frame / 30.0f, 1.0f / 30.0f);
+
+      // despawn with swap-remove
+      for (int i = drops.size() - 1; i >= 0; i--) {
+        if (drops.getY(i) < Spacefish.Dimensions.ACCURACY || 0 == random.nextInt(50)) {
+          drops.remove(i);
+        }
+      }
+
+      assertGridConsistent(drops);
+    }
+  }
+
+  @Test
+  public void test_01_ClosedFormIgnoresFrameRate() {
+    final DropStore coarse = new DropStore();
+    final DropStore fine = new DropStore();
+    final float height = Spacefish.Dimensions.VIRTUAL_SCREEN_HEIGHT;
+
+    coarse.add(DropStore.Types.ALIEN_GREEN, 10, height, 200, 0, 0.5f, 0.25f);
+    fine.add(DropStore.Types.ALIEN_GREEN, 10, height, 200, 0, 0.5f, 0.25f);
+
+    // same game time reached by 3 long frames and by 120 short ones
+    for (int frame = 1; frame <= 3; frame++) {
+      coarse.update(frame / 3.0f, 1 / 3.0f);
+    }
+
+    for (int frame = 1; frame <= 120; frame++) {
+      fine.update(frame / 120.0f, 1 / 120.0f);
+    }
+
+    assertThat(coarse.getX(0), is(10 + 190 * 0.5f * 0.75f));
+    assertThat(coarse.getY(0), is(height - height * 0.5f * 0.75f));
+    assertThat(fine.getX(0), is(coarse.getX(0)));
+    assertThat(fine.getY(0), is(coarse.getY(0)));
+
+    // drop passes the accuracy line right after the exit time
+    final float exit = coarse.getExitTime(0);
+    coarse.update(exit - 0.01f, 0);
+    assertThat(coarse.getY(0) < Spacefish.Dimensions.ACCURACY, is(false));
+    coarse.update(exit + 0.01f, 0);
+    assertThat(coarse.getY(0) < Spacefish.Dimensions.ACCURACY, is(true));
+  }
+
+  @Test
+  public void test_02_ParallelMatchesSerial() {
+    final ParallelRange parallel = new ParallelRange(3);
+    final DropStore serial = new DropStore();
+    final DropStore chunked = new DropStore();
+    final Random random = new Random(42);
+
+    chunked.setParallel(parallel);
+
+    for (int i = 0; i < DropStore.PARALLEL_THRESHOLD * 2; i++) {
+      final int startX = random.nextInt(Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH);
+      final int endX = random.nextInt(Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH);
+      final float speed = Drop.MIN_SPEED + random.nextFloat() * Drop.MAX_SPEED;
+      final float spawn = random.nextFloat();
+
+      serial.add(DropStore.Types.ALIEN_GREEN, startX, Spacefish.Dimensions.VIRTUAL_SCREEN_HEIGHT, endX, 0, speed, spawn);
+      chunked.add(DropStore.Types.ALIEN_GREEN, startX, Spacefish.Dimensions.VIRTUAL_SCREEN_HEIGHT, endX, 0, speed, spawn);
+    }
+
+    try {
+      serial.update(1.5f, 0.5f);
+      chunked.update(1.5f, 0.5f);
+
+      for (int i = 0; i < serial.size(); i++) {
+        assertThat(chunked.getX(i), is(serial.getX(i)));
+        assertThat(chunked.getY(i), is(serial.getY(i)));
+      }
+
+      assertGridConsistent(chunked);
+    } finally {
+      parallel.shutdown();
+    }
+  }
+
+  @Test
+  public void test_03_LaggingGridCoversDropPaths() {
+    final Random random = new Random(7);
+    final DropStore drops = new DropStore();
+    final float tick = 1.0f / 60.0f;
+    int lagging = 0;
+
+    for (int i = 0; i < 500; i++) {
+      drops.add(random.nextInt(DropStore.Types.COUNT), random.nextInt(Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH),
+              Spacefish.Dimensions.VIRTUAL_SCREEN_HEIGHT, random.nextInt(Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH), 0,
+              Drop.MIN_SPEED + random.nextFloat() * Drop.MAX_SPEED, 0);
+    }
+
+    for (int frame = 1; frame <= 120; frame++) {
+      drops.update(frame * tick, tick);
+
+      final UniformGrid grid = drops.getGrid();
+      final float margin = drops.getMaxTravel();
+
+      if (drops.getGridTime() < drops.getTime()) {
+        lagging++;
+      }
+
+      assertGridConsistent(drops);
+
+      // both ends of the tick path are inside the cells reachable with the query margin
+      for (int i = 0; i < drops.size(); i++) {
+        final int column = grid.column(gridX(drops, i)), row = grid.row(gridY(drops, i));
+
+        assertThat(Math.abs(grid.column(drops.getX(i)) - column) <= grid.column(margin) + 1, is(true));
+        assertThat(Math.abs(grid.row(drops.getY(i)) - row) <= grid.row(margin) + 1, is(true));
+        assertThat(Math.abs(grid.column(drops.getPreviousX(i)) - column) <= grid.column(margin) + 1, is(true));
+        assertThat(Math.abs(grid.row(drops.getPreviousY(i)) - row) <= grid.row(margin) + 1, is(true));
+      }
+    }
+
+    // most of the ticks skip the grid rebuild
+    assertThat(lagging > 60, is(true));
+  }
+
+	/* [ IMPLEMENTATION & HELPERS ] ========================================================================================================================== */
+
+  /** each live drop should be registered exactly once, in the cell of own position at the grid time. */
+  private static void assertGridConsistent(final DropStore drops) {
+    final UniformGrid grid = drops.getGrid();
+    final int[] seen = new int[drops.size()];
+    int total = 0;
+
+    for (int cell = 0, len = grid.getColumns() * grid.getRows(); cell < len; cell++) {
+      for (int i = grid.first(cell); UniformGrid.NONE != i; i = grid.next(i)) {
+        assertThat(grid.cell(grid.column(gridX(drops, i)), grid.row(gridY(drops, i))), is(cell));
+        seen[i]++;
+        total++;
+      }
+    }
+
+    assertThat(total, is(drops.size()));
+
+    for (int count : seen) {
+      assertThat(count, is(1));
+    }
+  }
+
+  /** Drop position at the grid time, x-coordinate. */
+  private static float gridX(final DropStore drops, final int i) {
+    return drops.getStartX(i) + (drops.getEndX(i) - drops.getStartX(i)) * gridProgress(drops, i);
+  }
+
+  /** Drop position at the grid time, y-coordinate. */
+  private static float gridY(final DropStore drops, final int i) {
+    return drops.getStartY(i) + (drops.getEndY(i) - drops.getStartY(i)) * gridProgress(drops, i);
+  }
+
+  private static float gridProgress(final DropStore drops, final int i) {
+    return ClosedFormStrategy.progress(drops.getSpawnTime(i), drops.getSpeed(i), drops.getGridTime());
+  }
+}
@@ -0,0 +1,79 @@
+package com.amaya.game.simulation;
+
+import com.amaya.game.GameController;
+import com.amaya.game.entities.Level;
+import com.badlogic.gdx.Gdx;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/** Headless simulation unit tests. */
+public class HeadlessRunnerTests {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Level duration in seconds. */
+  private static final float LEVEL_TIME = 45;
+
+  /* [ SETUP / TEAR DOWN ] ================================================================================================================================= */
+
+  @Before
+  public void setUp() {
+    // headless simulation should not touch LibGdx application at all
+    Gdx.app = null;
+    Gdx.graphics = null;
+    Gdx.audio = null;
+  }
+
+  /* [ TESTS ] ============================================================================================================================================= */
+
+  @Test
+  public void test_00_RunToCompletion() {
+    final Level level = new Level.Builder().setTotalTime(LEVEL_TIME).randomize().build();
+    final HeadlessRunner runner = new HeadlessRunner(level);
+
+    final SimulationResult result = runner.run(LEVEL_TIME * 2);
+
+    // level finished or fish is dead, in both cases game is over
+    assertThat(result.State, is(GameController.KnownStates.GAME_OVER));
+    assertTrue(result.GameTime <= LEVEL_TIME + HeadlessRunner.DEFAULT_TICK * 2);
+    assertThat(result.Ticks, is(runner.getTicks()));
+    assertThat(Gdx.app, is(nullValue()));
+  }
+
+  @Test
+  public void test_01_PlayerTicks() {
+    final Level level = new Level.Builder().setTotalTime(LEVEL_TIME).randomize().build();
+    final int[] calls = new int[1];
+
+    final HeadlessRunner runner = new HeadlessRunner(level).setPlayer(new IPlayer() {
+      @Override
+      public void onTick(final GameController controller) {
+        calls[0]++;
+      }
+    });
+
+    // time limit reached before the end of the level (or fish is dead)
+    final SimulationResult result = runner.run(1.0f);
+
+    assertThat((long) calls[0], is(result.Ticks));
+    assertTrue(result.GameTime >= 1.0f || GameController.KnownStates.GAME_OVER == result.State);
+  }
+
+  @Test
+  public void test_02_SeededRunsAreReproducible() {
+    final Level.Builder builder = new Level.Builder().setSeed(42).setTotalTime(LEVEL_TIME).randomize();
+
+    final SimulationResult first = new HeadlessRunner(builder.build()).run(LEVEL_TIME * 2);
+    final SimulationResult second = new HeadlessRunner(builder.build()).run(LEVEL_TIME * 2);
+
+    assertThat(second.Points, is(first.Points));
+    assertThat(second.Health, is(first.Health));
+    assertThat(second.Ticks, is(first.Ticks));
+    assertThat(second.GameTime, is(first.GameTime));
+  }
+}
@@ -0,0 +1,107 @@
+package com.amaya.game.simulation;
+
+import com.amaya.game.GameController;
+import com.amaya.game.Spacefish;
+import com.amaya.game.entities.Level;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Vector3;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/** Replay log recording and playback unit tests. */
+public class ReplayLogTests {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Level duration in seconds. */
+  private static final float LEVEL_TIME = 20;
+
+	/* [ MEMBERS ] =========================================================================================================================================== */
+
+  private FileHandle mFile;
+
+	/* [ SETUP / TEAR DOWN ] ================================================================================================================================= */
+
+  @Before
+  public void setUp() throws IOException {
+    mFile = new FileHandle(File.createTempFile("spacefish", ".replay"));
+  }
+
+  @After
+  public void tearDown() {
+    mFile.delete();
+  }
+
+  /* [ TESTS ] ============================================================================================================================================= */
+
+  @Test
+  public void test_00_PlaybackRepeatsSession() {
+    final Level level = new Level.Builder().setSeed(11).setTotalTime(LEVEL_TIME).randomize().build();
+    final ReplayRecorder recorder = new ReplayRecorder();
+    final HeadlessRunner live = new HeadlessRunner(level);
+
+    recorder.start(level, live.getTick(), mFile);
+    final SimulationResult expected = live.setPlayer(new RecordingPlayer(recorder)).run(LEVEL_TIME * 2);
+    recorder.stop();
+
+    final ReplayLog log = ReplayLog.load(mFile);
+    final SimulationResult actual = log.play(LEVEL_TIME * 2);
+
+    assertThat(log.size() > 0, is(true));
+    assertThat(log.getLevel().getSeed(), is(11L));
+    assertThat(actual.Points, is(expected.Points));
+    assertThat(actual.Health, is(expected.Health));
+    assertThat(actual.Ticks, is(expected.Ticks));
+    assertThat(actual.State, is(expected.State));
+  }
+
+  @Test
+  public void test_01_InterruptedRecordingIsReadable() {
+    final Level level = new Level.Builder().setSeed(11).setTotalTime(LEVEL_TIME).randomize().build();
+    final ReplayRecorder recorder = new ReplayRecorder();
+
+    recorder.start(level, HeadlessRunner.DEFAULT_TICK, mFile);
+    recorder.record(1.0f, 10, 20);
+    recorder.record(2.0f, 30, 40);
+    recorder.stop();
+
+    // half of the last entry is lost
+    final byte[] bytes = mFile.readBytes();
+    final ReplayLog log = ReplayLog.read(ByteBuffer.wrap(bytes, 0, bytes.length - ReplayLog.ENTRY_SIZE / 2));
+
+    assertThat(log.size(), is(1));
+    assertThat(log.getTick(), is(HeadlessRunner.DEFAULT_TICK));
+  }
+
+	/* [ NESTED DECLARATIONS ] =============================================================================================================================== */
+
+  /** Player that moves the fish over the field and records own accepted touches, like the level screen does. */
+  private static final class RecordingPlayer implements IPlayer {
+    private final ReplayRecorder mRecorder;
+    private final Vector3 mPoint = new Vector3();
+    private int mTicks;
+
+    public RecordingPlayer(final ReplayRecorder recorder) {
+      mRecorder = recorder;
+    }
+
+    @Override
+    public void onTick(final GameController controller) {
+      if (0 == mTicks++ % 25) {
+        mPoint.set((mTicks * 37) % Spacefish.Dimensions.VIRTUAL_SCREEN_WIDTH, (mTicks * 13) % 200, 0);
+
+        if (controller.touched(mPoint)) {
+          mRecorder.record(controller.getGameTime(), mPoint.x, mPoint.y);
+        }
+      }
+    }
+  }
+}
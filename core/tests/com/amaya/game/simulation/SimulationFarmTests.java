@@ -0,0 +1,81 @@
+package com.amaya.game.simulation;
+
+import com.amaya.game.GameController;
+import com.amaya.game.entities.Level;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/** Parallel simulation unit tests. */
+public class SimulationFarmTests {
+  /* [ CONSTANTS ] ========================================================================================================================================= */
+
+  /** Level duration in seconds. */
+  private static final float LEVEL_TIME = 20;
+  /** Quantity of sessions. */
+  private static final int SESSIONS = 8;
+
+  /* [ MEMBERS ] =========================================================================================================================================== */
+
+  private SimulationFarm mFarm;
+
+  /* [ SETUP / TEAR DOWN ] ================================================================================================================================= */
+
+  @Before
+  public void setUp() {
+    mFarm = new SimulationFarm(2, HeadlessRunner.DEFAULT_TICK);
+  }
+
+  @After
+  public void tearDown() {
+    mFarm.shutdown();
+  }
+
+  /* [ TESTS ] ============================================================================================================================================= */
+
+  @Test
+  public void test_00_RunAllSessions() {
+    final List<Level.Builder> levels = new ArrayList<Level.Builder>();
+    final int[] players = new int[SESSIONS];
+
+    for (int i = 0; i < SESSIONS; i++) {
+      // each session gets own time, so order of results is verifiable
+      levels.add(new Level.Builder().setTotalTime(LEVEL_TIME + i).randomize());
+    }
+
+    final FarmResult result = mFarm.run(levels, new IPlayerFactory() {
+      @Override
+      public IPlayer create(final int session) {
+        players[session]++;
+        return IPlayer.NONE;
+      }
+    }, LEVEL_TIME * 2);
+
+    assertThat(result.Sessions.size(), is(SESSIONS));
+    assertThat(result.Threads, is(2));
+
+    int alive = 0;
+
+    for (int i = 0; i < SESSIONS; i++) {
+      final SimulationResult session = result.Sessions.get(i);
+
+      if (session.Health > 0) {
+        alive++;
+      }
+
+      assertThat(players[i], is(1));
+      assertThat(session.State, is(GameController.KnownStates.GAME_OVER));
+      assertTrue(session.GameTime <= LEVEL_TIME + i + HeadlessRunner.DEFAULT_TICK * 2);
+    }
+
+    assertThat(result.getSurvived(), is(alive));
+  }
+}